@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Represents a use of the Secant Method to find a zero to an arbitrary
+ * number of digits. Iterations start in double precision, then continue
+ * with {@link BigDecimal}, doubling the working precision as the iterates
+ * converge.
+ */
+public class BigSecantMethod {
+	/**
+	 * A function that can be evaluated to a specified precision
+	 */
+	@FunctionalInterface
+	interface BigUnaryOperator {
+		/**
+		 * @param x the value to calculate
+		 * @param mc the precision the result needs
+		 * @return f(x)
+		 */
+		BigDecimal apply(BigDecimal x, MathContext mc);
+	}
+
+	/**
+	 * Extra digits carried beyond what the iterates are expected to need
+	 */
+	static final int GUARD = 10;
+	/**
+	 * Iterations allowed after the double precision iterations
+	 */
+	static final int LIMIT = 64;
+	static final BigDecimal HUNDREDTH = new BigDecimal("0.01");
+	static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+	/**
+	 * First initial guess
+	 */
+	final double guess1;
+	/**
+	 * Second initial guess
+	 */
+	final double guess2;
+	/**
+	 * Function for which to find the zero
+	 */
+	final BigUnaryOperator function;
+	/**
+	 * Significant digits wanted in the zero
+	 */
+	final int digits;
+
+	/**
+	 *
+	 * @param guess1 first guess for finding a zero
+	 * @param guess2 second guess for finding a zero
+	 * @param function the function for which to find a zero
+	 * @param digits significant digits wanted in the zero
+	 * @throws IllegalArgumentException if digits &lt;= 0
+	 */
+	BigSecantMethod(final double guess1, final double guess2, final BigUnaryOperator function, final int digits) throws IllegalArgumentException {
+		if (digits <= 0)
+			throw new IllegalArgumentException(digits + " <= 0");
+		this.guess1 = guess1;
+		this.guess2 = guess2;
+		this.function = function;
+		this.digits = digits;
+	}
+
+	/**
+	 * Finds the zero to 100 digits, or the number of digits specified
+	 *
+	 * @param args optionally, the number of digits
+	 */
+	public static void main(final String...args) {
+		final int digits = args.length == 0 ? 100 : Integer.parseInt(args[0]);
+		System.out.println(new BigSecantMethod(
+			// These are the intial guesses
+			-1, 2,
+			BigSecantMethod::function,
+			digits
+			).solve());
+	}
+
+	/**
+	 * The function utilizing {@link #exp(BigDecimal, MathContext)}
+	 *
+	 * @param x value to calculate
+	 * @param mc precision to calculate
+	 * @return x * e^x - 0.01
+	 */
+	static BigDecimal function(final BigDecimal x, final MathContext mc) {
+		return x.multiply(exp(x.negate(), mc), mc).subtract(HUNDREDTH, mc);
+	}
+
+	/**
+	 * <p>Calculates e^x using a series expansion.</p>
+	 * <p>The argument is first halved k times, so the series converges in
+	 * few terms, then the result is squared k times. The working precision
+	 * is increased to cover the error amplified by squaring.</p>
+	 *
+	 * @param x the exponent
+	 * @param mc the precision of the result
+	 * @return e^x
+	 */
+	static BigDecimal exp(final BigDecimal x, final MathContext mc) {
+		if (x.signum() == 0)
+			return BigDecimal.ONE;
+		// floor(log10(|x|)), converted to a power of 2 that is at-least |x|
+		final int magnitude = x.precision() - x.scale();
+		final int k = Math.max(0, (int) Math.ceil(magnitude * 3.33) + (int) Math.sqrt(mc.getPrecision() * 3.33));
+		final MathContext work = new MathContext(mc.getPrecision() + (int) (k * 0.302) + 5);
+
+		final BigDecimal r = x.divide(TWO.pow(k), work);
+		// |r| < 1, so the sum is near 1
+		final BigDecimal epsilon = BigDecimal.ONE.movePointLeft(work.getPrecision());
+		BigDecimal sum = BigDecimal.ONE;
+		BigDecimal term = BigDecimal.ONE;
+		for (int n = 1;; n++) {
+			term = term.multiply(r, work).divide(BigDecimal.valueOf(n), work);
+			// Terms are no longer contributing at this precision
+			if (term.signum() == 0 || term.abs().compareTo(epsilon) < 0)
+				break;
+			sum = sum.add(term, work);
+		}
+		for (int i = 0; i < k; i++) {
+			sum = sum.multiply(sum, work);
+		}
+		return sum.round(mc);
+	}
+
+	/**
+	 * @param x a non-zero value
+	 * @return floor(log10(|x|))
+	 */
+	static int magnitude(final BigDecimal x) {
+		return x.precision() - x.scale() - 1;
+	}
+
+	/**
+	 * Runs the secant method in double precision until it stops improving,
+	 * then in {@link BigDecimal} until the zero is found to the specified digits.
+	 * Each {@link BigDecimal} iteration uses twice the precision of the digits
+	 * already correct, as estimated by the size of the correction, since the
+	 * secant method does not more than double the correct digits each
+	 * iteration. Only the last iterations are evaluated at the full precision.
+	 *
+	 * @return the zero, to the specified digits
+	 * @throws ArithmeticException if the iterations do not converge
+	 */
+	BigDecimal solve() throws ArithmeticException {
+		double x_n = this.guess1, x_n_1 = this.guess2;
+		int i = 0;
+		for (final SecantMethod.Iteration it
+				: new SecantMethod(
+					this.guess1, this.guess2,
+					x -> this.function.apply(new BigDecimal(x), MathContext.DECIMAL64).doubleValue(),
+					f_n -> f_n == 0
+					)
+				) {
+			// Keep the last pair that still defines a secant
+			if (!(Double.isFinite(it.x_n) && Double.isFinite(it.x_n_1)) || it.x_n == it.x_n_1)
+				break;
+			x_n = it.x_n;
+			x_n_1 = it.x_n_1;
+			if (++i > LIMIT)
+				break;
+		}
+
+		final int full = this.digits + GUARD;
+		MathContext mc = MathContext.DECIMAL64;
+		BigDecimal x0 = new BigDecimal(x_n_1), x1 = new BigDecimal(x_n);
+		BigDecimal f0 = this.function.apply(x0, mc), f1 = this.function.apply(x1, mc);
+		for (i = 0; i < LIMIT; i++) {
+			if (f1.signum() == 0) {
+				if (mc.getPrecision() == full)
+					return x1.round(new MathContext(this.digits));
+				// Only a zero to the current precision
+				mc = new MathContext(Math.min(full, mc.getPrecision() * 2 + GUARD));
+				f1 = this.function.apply(x1, mc);
+				continue;
+			}
+
+			BigDecimal step = x1.subtract(x0);
+			if (step.signum() == 0) {
+				// A second point is needed to continue
+				x0 = x1.add(BigDecimal.ONE.scaleByPowerOfTen(magnitude(x1) - mc.getPrecision()));
+				f0 = this.function.apply(x0, mc);
+				step = x1.subtract(x0);
+			}
+			final BigDecimal slope = f1.subtract(f0, mc);
+			if (slope.signum() == 0)
+				throw new ArithmeticException(String.format("f(x) is flat between %s and %s", x0, x1));
+			// The correction approximates the error in x1,
+			// so it only needs as many digits as x0 had correct
+			final BigDecimal correction = f1.multiply(step, mc).divide(slope, mc);
+			final int agreed = magnitude(x1) - magnitude(correction);
+			if (mc.getPrecision() == full && agreed > this.digits)
+				return x1.subtract(correction).round(new MathContext(this.digits));
+			mc = new MathContext(Math.min(full, Math.max(agreed, 0) * 2 + GUARD));
+
+			final BigDecimal x2 = x1.subtract(correction, mc);
+			final BigDecimal f2 = this.function.apply(x2, mc);
+			// Keep the value closer to zero as the current
+			if (f2.abs().compareTo(f1.abs()) <= 0) {
+				x0 = x1;
+				f0 = f1;
+				x1 = x2;
+				f1 = f2;
+			} else {
+				x0 = x2;
+				f0 = f2;
+			}
+		}
+		throw new ArithmeticException(String.format("Did not converge to %s digits from %s and %s", this.digits, this.guess1, this.guess2));
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Wraps a function to remember its most recent results, and count how it
+ * is used. Results are kept in a fixed size open-addressing table keyed by
+ * the exact bits of x, so only an identical x is remembered. This is safe
+ * to use from multiple threads, though the wrapped function may be called
+ * for the same x by two threads at once.
+ */
+public class CachedFunction implements DoubleUnaryOperator {
+	/**
+	 * Slots checked for a key before the first is replaced
+	 */
+	static final int PROBES = 4;
+	/**
+	 * Marks a slot without a key; NaN is never used as a key
+	 */
+	static final long EMPTY = Double.doubleToRawLongBits(Double.NaN);
+
+	/**
+	 * Function to remember
+	 */
+	final DoubleUnaryOperator function;
+	/**
+	 * Raw bits of each x, or {@link #EMPTY}
+	 */
+	final long[] keys;
+	/**
+	 * f(x) for each key
+	 */
+	final double[] values;
+	/**
+	 * Size of table, minus one
+	 */
+	final int mask;
+	/**
+	 * Calls to the wrapped function
+	 */
+	final LongAdder evaluations = new LongAdder();
+	/**
+	 * Calls answered from the table
+	 */
+	final LongAdder hits = new LongAdder();
+	/**
+	 * Total time spent in the wrapped function
+	 */
+	final LongAdder nanos = new LongAdder();
+
+	/**
+	 *
+	 * @param function the function to remember
+	 * @param capacity the number of results to remember, rounded up to a power of 2, or 0 to only count
+	 * @throws IllegalArgumentException if capacity &lt; 0 or capacity &gt; 2^30
+	 */
+	CachedFunction(final DoubleUnaryOperator function, final int capacity) throws IllegalArgumentException {
+		if (capacity < 0 || capacity > 1 << 30)
+			throw new IllegalArgumentException(String.format("%s is not within [0,2^30]", capacity));
+		this.function = function;
+		final int size = capacity <= 1 ? capacity : Integer.highestOneBit(capacity - 1) << 1;
+		this.keys = new long[size];
+		this.values = new double[size];
+		this.mask = size - 1;
+		Arrays.fill(this.keys, EMPTY);
+	}
+
+	@Override
+	public double applyAsDouble(final double x) {
+		final long key = Double.doubleToRawLongBits(x);
+		final boolean cached = this.keys.length != 0 && !Double.isNaN(x);
+		if (cached) {
+			synchronized (this) {
+				for (int i = 0, slot = hash(key); i < PROBES; i++, slot = (slot + 1) & this.mask) {
+					if (this.keys[slot] == key) {
+						this.hits.increment();
+						return this.values[slot];
+					}
+					if (this.keys[slot] == EMPTY)
+						break;
+				}
+			}
+		}
+
+		final long start = System.nanoTime();
+		final double f = this.function.applyAsDouble(x);
+		this.nanos.add(System.nanoTime() - start);
+		this.evaluations.increment();
+
+		if (cached) {
+			synchronized (this) {
+				final int home = hash(key);
+				int replace = home;
+				for (int i = 0, slot = home; i < PROBES; i++, slot = (slot + 1) & this.mask) {
+					if (this.keys[slot] == EMPTY || this.keys[slot] == key) {
+						replace = slot;
+						break;
+					}
+				}
+				this.keys[replace] = key;
+				this.values[replace] = f;
+			}
+		}
+		return f;
+	}
+
+	/**
+	 * @param key raw bits of x
+	 * @return the first slot to check
+	 */
+	int hash(long key) {
+		// Finalizer from MurmurHash3, so nearby x are spread out
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key & this.mask;
+	}
+
+	/**
+	 * @return calls to the wrapped function
+	 */
+	long evaluations() {
+		return this.evaluations.sum();
+	}
+
+	/**
+	 * @return calls answered from remembered results
+	 */
+	long hits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return total nanoseconds spent in the wrapped function
+	 */
+	long nanos() {
+		return this.nanos.sum();
+	}
+
+	@Override
+	public String toString() {
+		final long evaluations = evaluations();
+		return String.format(
+			"%s evaluations, %s remembered, %.3f microseconds each",
+			evaluations,
+			hits(),
+			evaluations == 0 ? 0D : nanos() / 1000D / evaluations
+			);
+	}
+}
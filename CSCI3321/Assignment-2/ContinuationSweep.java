@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Follows a zero of f(x, c) as the parameter c changes, using the Secant
+ * Method for each c. Each solve is started from the zero of the prior c,
+ * and a guess extrapolated from the two prior zeros.
+ */
+public class ContinuationSweep implements Iterable<ContinuationSweep.Point> {
+	/**
+	 * The zero found for a single parameter.
+	 */
+	static class Point {
+		/**
+		 * The parameter, c
+		 */
+		final double c;
+		/**
+		 * The zero, or NaN if it was not found
+		 */
+		final double x;
+		/**
+		 * Evaluations of the function used to find this zero
+		 */
+		final int evaluations;
+
+		Point(final double c, final double x, final int evaluations) {
+			this.c = c;
+			this.x = x;
+			this.evaluations = evaluations;
+		}
+	}
+
+	/**
+	 * First initial guess, for the first parameter
+	 */
+	final double guess1;
+	/**
+	 * Second initial guess, for the first parameter
+	 */
+	final double guess2;
+	/**
+	 * Function, f(x, c), for which to find the zero
+	 */
+	final DoubleBinaryOperator function;
+	/**
+	 * Condition indicating iterations to cease
+	 */
+	final DoublePredicate stop;
+	/**
+	 * The parameters, in order of the sweep
+	 */
+	final double[] parameters;
+	/**
+	 * The maximum evaluations of the function for each parameter
+	 */
+	final int limit;
+
+	/**
+	 *
+	 * @param guess1 first guess for finding the first zero
+	 * @param guess2 second guess for finding the first zero
+	 * @param function the function, f(x, c), for which to find zeros
+	 * @param stop the condition, based on the output of the function for the current iteration, to indicate iterations should cease
+	 * @param parameters the values of c, in order of the sweep
+	 * @param limit the maximum evaluations of the function for each parameter
+	 */
+	ContinuationSweep(final double guess1, final double guess2, final DoubleBinaryOperator function, final DoublePredicate stop, final double[] parameters, final int limit) {
+		this.guess1 = guess1;
+		this.guess2 = guess2;
+		this.function = function;
+		this.stop = stop;
+		this.parameters = parameters;
+		this.limit = limit;
+	}
+
+	/**
+	 * Follows the zero of x * e^x - c, for 100000 values of c from 0.01 to 0.3
+	 *
+	 * @param args ignored
+	 */
+	public static void main(final String...args) {
+		final int count = 100000;
+		final double[] parameters = IntStream.range(0, count)
+			.mapToDouble(i -> 0.01 + (0.3 - 0.01) * i / (count - 1))
+			.toArray();
+		long evaluations = 0;
+		int i = 0;
+		for (final Point point
+				: new ContinuationSweep(
+					// These are the intial guesses
+					-1, 2,
+					(x, c) -> (x * Math.expm1(-x) + x) - c,
+					f_n -> Math.abs(f_n) < 0.0000001,
+					parameters,
+					// Evaluations for each c
+					100
+					)
+				) {
+			evaluations += point.evaluations;
+			if (i++ % (count / 10) == 0 || i == count) {
+				System.out.println(String.format(
+					"%6s: c = %+6e, x = %+6e, %s evaluations",
+					i - 1,
+					point.c,
+					point.x,
+					point.evaluations
+					));
+			}
+		}
+		System.out.println(String.format(
+			"%.3f evaluations for each c",
+			(double) evaluations / count
+			));
+	}
+
+	/**
+	 * Performs the sweep for all parameters, split into segments that are
+	 * performed in parallel. Each segment starts again from the initial
+	 * guesses. The stream is ordered by parameter.
+	 *
+	 * @param segments the number of segments
+	 * @return the zeros, ordered by parameter
+	 */
+	Stream<Point> stream(final int segments) {
+		final int length = this.parameters.length;
+		return IntStream.range(0, segments)
+			.parallel()
+			.boxed()
+			.flatMap(segment -> {
+				final int from = (int) ((long) length * segment / segments);
+				final int to = (int) ((long) length * (segment + 1) / segments);
+				return StreamSupport.stream(
+					Spliterators.spliterator(iterator(from, to), to - from, Spliterator.ORDERED | Spliterator.NONNULL),
+					false
+					);
+			});
+	}
+
+	@Override
+	public Iterator<Point> iterator() {
+		return iterator(0, this.parameters.length);
+	}
+
+	/**
+	 * @param from the first parameter index, inclusive
+	 * @param to the last parameter index, exclusive
+	 * @return the zeros for each parameter in the range
+	 */
+	Iterator<Point> iterator(final int from, final int to) {
+		return new Iterator<Point>() {
+			/**
+			 * The next parameter index
+			 */
+			int index = from;
+			/**
+			 * The number of prior zeros available, up to 2
+			 */
+			int known = 0;
+			/**
+			 * The last parameter and zero
+			 */
+			double c_n, x_n;
+			/**
+			 * The parameter and zero before the last
+			 */
+			double c_n_1, x_n_1;
+			/**
+			 * Evaluations for the current parameter
+			 */
+			int evaluations;
+
+			@Override
+			public boolean hasNext() {
+				return this.index < to;
+			}
+
+			@Override
+			public Point next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				final double c = ContinuationSweep.this.parameters[this.index++];
+				final double guess1, guess2;
+				switch (this.known) {
+				case 0:
+					guess1 = ContinuationSweep.this.guess1;
+					guess2 = ContinuationSweep.this.guess2;
+					break;
+				case 1:
+					guess1 = this.x_n;
+					guess2 = nudge(this.x_n);
+					break;
+				default:
+					// Extrapolate the movement of the zero
+					final double predicted = this.x_n + (this.x_n - this.x_n_1) * (c - this.c_n) / (this.c_n - this.c_n_1);
+					if (predicted == this.x_n || !Double.isFinite(predicted)) {
+						guess1 = this.x_n;
+						guess2 = nudge(this.x_n);
+					} else {
+						guess1 = predicted;
+						guess2 = this.x_n;
+					}
+				}
+
+				this.evaluations = 0;
+				final double x = new SecantMethod(
+					guess1, guess2,
+					value -> {
+						this.evaluations++;
+						return ContinuationSweep.this.function.applyAsDouble(value, c);
+					},
+					ContinuationSweep.this.stop
+					).solve(ContinuationSweep.this.limit);
+
+				if (Double.isNaN(x)) {
+					// Lost the zero, start over
+					this.known = 0;
+				} else {
+					this.c_n_1 = this.c_n;
+					this.x_n_1 = this.x_n;
+					this.c_n = c;
+					this.x_n = x;
+					this.known = Math.min(this.known + 1, 2);
+				}
+				return new Point(c, x, this.evaluations);
+			}
+		};
+	}
+
+	/**
+	 * @param x a zero
+	 * @return a value slightly different than x, as a second guess
+	 */
+	static double nudge(final double x) {
+		return x + 0.000001 * Math.max(1, Math.abs(x));
+	}
+}
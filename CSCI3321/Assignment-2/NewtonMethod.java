@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoublePredicate;
+
+/**
+ * Represents a use of Newton's Method, or Halley's Method, to find a zero.
+ * Derivatives are calculated by forward-mode automatic differentiation.
+ */
+public class NewtonMethod implements Iterable<NewtonMethod.Iteration> {
+	/**
+	 * A mutable dual number, tracking a value with its first and second
+	 * derivative. All arithmetic is performed in-place, and returns this
+	 * instance, such that no allocation occurs while evaluating.
+	 */
+	static final class Dual {
+		/**
+		 * f(x)
+		 */
+		double value;
+		/**
+		 * f'(x)
+		 */
+		double first;
+		/**
+		 * f''(x)
+		 */
+		double second;
+
+		/**
+		 * Sets this to be the independent variable, x, at the specified value
+		 *
+		 * @param x the value of x
+		 * @return this
+		 */
+		Dual variable(final double x) {
+			this.value = x;
+			this.first = 1;
+			this.second = 0;
+			return this;
+		}
+
+		/**
+		 * @param o the dual to copy
+		 * @return this
+		 */
+		Dual set(final Dual o) {
+			this.value = o.value;
+			this.first = o.first;
+			this.second = o.second;
+			return this;
+		}
+
+		/**
+		 * @return this, as -f(x)
+		 */
+		Dual negate() {
+			this.value = -this.value;
+			this.first = -this.first;
+			this.second = -this.second;
+			return this;
+		}
+
+		/**
+		 * @param c a constant
+		 * @return this, as f(x) + c
+		 */
+		Dual add(final double c) {
+			this.value += c;
+			return this;
+		}
+
+		/**
+		 * @param o the other function, g, which may not be this
+		 * @return this, as f(x) + g(x)
+		 */
+		Dual add(final Dual o) {
+			this.value += o.value;
+			this.first += o.first;
+			this.second += o.second;
+			return this;
+		}
+
+		/**
+		 * @param o the other function, g, which may not be this
+		 * @return this, as f(x) * g(x)
+		 */
+		Dual multiply(final Dual o) {
+			// (fg)'' = f''g + 2f'g' + fg''
+			this.second = this.second * o.value + 2 * this.first * o.first + this.value * o.second;
+			// (fg)' = f'g + fg'
+			this.first = this.first * o.value + this.value * o.first;
+			this.value *= o.value;
+			return this;
+		}
+
+		/**
+		 * @return this, as e^f(x)
+		 */
+		Dual exp() {
+			return chain(Math.exp(this.value), 0);
+		}
+
+		/**
+		 * @return this, as e^f(x) - 1
+		 */
+		Dual expm1() {
+			return chain(Math.expm1(this.value), 1);
+		}
+
+		/**
+		 * Applies the chain rule for an exponential, where each derivative
+		 * of e^u is e^u.
+		 *
+		 * @param result the new value
+		 * @param offset the difference between e^u and the new value
+		 * @return this
+		 */
+		private Dual chain(final double result, final double offset) {
+			final double e = result + offset;
+			// (e^u)'' = e^u * (u'' + u'^2)
+			this.second = e * (this.second + this.first * this.first);
+			// (e^u)' = e^u * u'
+			this.first = e * this.first;
+			this.value = result;
+			return this;
+		}
+	}
+
+	/**
+	 * A function that can be evaluated with derivatives
+	 */
+	@FunctionalInterface
+	interface DualUnaryOperator {
+		/**
+		 * @param x the independent variable, which should not be modified
+		 * @param result the dual to store the result
+		 */
+		void applyAsDual(Dual x, Dual result);
+	}
+
+	/**
+	 * The formula used to produce the next x
+	 */
+	enum Order {
+		/**
+		 * Newton's Method, quadratic convergence
+		 */
+		NEWTON {
+			@Override
+			double next(final double x, final Dual f) {
+				return x - f.value / f.first;
+			}
+		},
+		/**
+		 * Halley's Method, cubic convergence
+		 */
+		HALLEY {
+			@Override
+			double next(final double x, final Dual f) {
+				return x - (2 * f.value * f.first) / (2 * f.first * f.first - f.value * f.second);
+			}
+		},
+		;
+
+		/**
+		 * @param x the current x
+		 * @param f the function, evaluated at x
+		 * @return the next x
+		 */
+		abstract double next(double x, Dual f);
+	}
+
+	/**
+	 * Enclosing class for a single iteration of the method.
+	 */
+	static class Iteration {
+		/**
+		 * Current, x subscript n
+		 */
+		final double x_n;
+		/**
+		 * Current, f(n)
+		 */
+		final double f_n;
+		/**
+		 * Current, f'(n)
+		 */
+		final double df_n;
+
+		/**
+		 * @param x_n the x used
+		 * @param f the evaluation of x
+		 */
+		Iteration(final double x_n, final Dual f) {
+			this.x_n = x_n;
+			this.f_n = f.value;
+			this.df_n = f.first;
+		}
+	}
+
+	/**
+	 * Initial guess
+	 */
+	final double guess;
+	/**
+	 * Function for which to find the zero
+	 */
+	final DualUnaryOperator function;
+	/**
+	 * Condition indicating iterations to cease
+	 */
+	final DoublePredicate stop;
+	/**
+	 * Formula to use for each step
+	 */
+	final Order order;
+
+	/**
+	 *
+	 * @param guess guess for finding a zero
+	 * @param function the function for which to find a zero
+	 * @param stop the condition, based on the output of the function for the current iteration, to indicate iterations should cease
+	 * @param order the formula to use for each step
+	 */
+	NewtonMethod(final double guess, final DualUnaryOperator function, final DoublePredicate stop, final Order order) {
+		this.guess = guess;
+		this.function = function;
+		this.stop = stop;
+		this.order = order;
+	}
+
+	/**
+	 * Runs both Newton's and Halley's method until the distance from zero for f(x) &lt; 0.0000001
+	 *
+	 * @param args ignored
+	 */
+	public static void main(final String...args) {
+		for (final Order order : Order.values()) {
+			System.out.println(order);
+			int i = 0;
+			for (final Iteration it
+					: new NewtonMethod(
+						// This is the intial guess
+						2,
+						// This can be any of the three defined functions
+						NewtonMethod::function1,
+						// This is the end-condition,
+						// such that when true,
+						// it will have no further iterations
+						f_n -> Math.abs(f_n) < 0.0000001,
+						order
+						)
+					) {
+				System.out.println(String.format(
+					"%3s: f(%3$+6e) = %2$+6e & f'(%3$+6e) = %4$+6e",
+					i++,
+					it.f_n, it.x_n,
+					it.df_n
+					));
+			}
+		}
+	}
+
+	/**
+	 * The function utilizing {@link Math#expm1(double)}, with distributed multiplication by x
+	 *
+	 * @param x value to calculate
+	 * @param result x * e^x - 0.01
+	 */
+	static void function1(final Dual x, final Dual result) {
+		result.set(x).negate().expm1().multiply(x).add(x).add(-0.01);
+	}
+
+	/**
+	 * The function utilizing {@link Math#expm1(double)}, by adding 1 back
+	 *
+	 * @param x value to calculate
+	 * @param result x * e^x - 0.01
+	 */
+	static void function2(final Dual x, final Dual result) {
+		result.set(x).negate().expm1().add(1).multiply(x).add(-0.01);
+	}
+
+	/**
+	 * The function utilizing {@link Math#exp(double)}
+	 *
+	 * @param x value to calculate
+	 * @param result x * e^x - 0.01
+	 */
+	static void function3(final Dual x, final Dual result) {
+		result.set(x).negate().exp().multiply(x).add(-0.01);
+	}
+
+	@Override
+	public Iterator<Iteration> iterator() {
+		return new Iterator<Iteration>() {
+			/**
+			 * Reused for every evaluation of x
+			 */
+			final Dual x = new Dual();
+			/**
+			 * Reused for every evaluation of f(x)
+			 */
+			final Dual f = new Dual();
+			/**
+			 * This is updated each time next is returned
+			 */
+			Iteration last = evaluate(NewtonMethod.this.guess);
+			/**
+			 * This is initialized each time hasNext is called after the prior next call;
+			 * a next call sets next to null
+			 */
+			Iteration next = last;
+
+			/**
+			 * @param x_n the x to evaluate
+			 * @return the iteration for x
+			 */
+			Iteration evaluate(final double x_n) {
+				NewtonMethod.this.function.applyAsDual(this.x.variable(x_n), this.f);
+				return new Iteration(x_n, this.f);
+			}
+
+			@Override
+			public boolean hasNext() {
+				if (this.next != null)
+					return true;
+				if (this.last == null)
+					return false;
+
+				if (NewtonMethod.this.stop.test(this.last.f_n)) {
+					this.last = null;
+					return false;
+				}
+				// f still holds the evaluation of the last iteration
+				this.next = evaluate(NewtonMethod.this.order.next(this.last.x_n, this.f));
+				return true;
+			}
+
+			@Override
+			public Iteration next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				final Iteration next = this.last = this.next;
+				this.next = null;
+				return next;
+			}
+		};
+	}
+}
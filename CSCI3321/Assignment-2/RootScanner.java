@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Finds all zeros of a function in an interval, by sampling for sign
+ * changes and using the Secant Method in each sub-interval with one.
+ * Sampling and solving are performed in parallel, so the function must be
+ * safe to call from multiple threads.
+ */
+public class RootScanner {
+	/**
+	 * Inclusive start of the interval
+	 */
+	final double start;
+	/**
+	 * Inclusive end of the interval
+	 */
+	final double end;
+	/**
+	 * Number of sub-intervals to sample
+	 */
+	final int intervals;
+	/**
+	 * Function for which to find the zeros
+	 */
+	final DoubleUnaryOperator function;
+	/**
+	 * Condition indicating iterations to cease
+	 */
+	final DoublePredicate stop;
+	/**
+	 * Maximum evaluations of the function, for sampling and solving
+	 */
+	final long budget;
+	/**
+	 * Distance for which two zeros are considered the same
+	 */
+	final double tolerance;
+
+	/**
+	 *
+	 * @param start inclusive start of the interval
+	 * @param end inclusive end of the interval
+	 * @param intervals the number of sub-intervals to sample
+	 * @param function the function for which to find zeros
+	 * @param stop the condition, based on the output of the function for the current iteration, to indicate iterations should cease
+	 * @param budget the maximum evaluations of the function
+	 * @param tolerance the distance for which two zeros are considered the same
+	 * @throws IllegalArgumentException if the interval is empty, intervals &lt;= 0, or budget &lt; 2
+	 */
+	RootScanner(final double start, final double end, final int intervals, final DoubleUnaryOperator function, final DoublePredicate stop, final long budget, final double tolerance) throws IllegalArgumentException {
+		if (!(start < end))
+			throw new IllegalArgumentException(String.format("[%s,%s] is empty", start, end));
+		if (intervals <= 0)
+			throw new IllegalArgumentException(intervals + " <= 0");
+		if (budget < 2)
+			throw new IllegalArgumentException(budget + " < 2");
+		this.start = start;
+		this.end = end;
+		this.intervals = intervals;
+		this.function = function;
+		this.stop = stop;
+		this.budget = budget;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Finds the zeros of x * e^x - 0.01 between -1 and 20
+	 *
+	 * @param args ignored
+	 */
+	public static void main(final String...args) {
+		for (final double zero
+				: new RootScanner(
+					-1, 20,
+					// Sub-intervals to sample
+					1000,
+					SecantMethod::function1,
+					f_n -> Math.abs(f_n) < 0.0000001,
+					// Function evaluations allowed
+					10000,
+					// Zeros this close are the same zero
+					0.000001
+					).scan()
+				) {
+			System.out.println(String.format(
+				"f(%+6e) = %+6e",
+				zero,
+				SecantMethod.function1(zero)
+				));
+		}
+	}
+
+	/**
+	 * Samples the interval, then solves each sub-interval where f(x) changes
+	 * sign. Sub-intervals with an infinite or NaN sample are skipped. Sampling uses one evaluation per sub-interval boundary, fewer
+	 * sub-intervals being sampled if the budget does not allow all of them.
+	 * The remaining evaluations are divided evenly between the sub-intervals
+	 * being solved.
+	 *
+	 * @return the zeros found, sorted, without duplicates
+	 */
+	double[] scan() {
+		final int intervals = (int) Math.min(this.intervals, this.budget / 2);
+		final double width = (this.end - this.start) / intervals;
+		final double[] x = new double[intervals + 1];
+		final double[] f = new double[intervals + 1];
+		IntStream.rangeClosed(0, intervals).parallel().forEach(i -> {
+			x[i] = i == intervals ? this.end : this.start + width * i;
+			f[i] = this.function.applyAsDouble(x[i]);
+		});
+
+		// Each sample that is a zero, including the end, and each sub-interval
+		// between finite samples of opposite sign
+		final int[] brackets = IntStream.rangeClosed(0, intervals)
+			.filter(i -> f[i] == 0 || (i < intervals
+				&& Double.isFinite(f[i])
+				&& Double.isFinite(f[i + 1])
+				&& f[i + 1] != 0
+				&& (f[i] < 0) != (f[i + 1] < 0)))
+			.toArray();
+		if (brackets.length == 0)
+			return new double[0];
+		final long limit = (this.budget - intervals - 1) / brackets.length;
+
+		final double[] zeros = Arrays.stream(brackets)
+			.parallel()
+			.mapToDouble(i -> f[i] == 0
+				? x[i]
+				: solve(x[i], f[i], x[i + 1], (int) Math.min(limit, Integer.MAX_VALUE))
+				)
+			.filter(zero -> !Double.isNaN(zero))
+			.sorted()
+			.toArray();
+
+		int size = 0;
+		for (final double zero : zeros) {
+			if (size == 0 || zero - zeros[size - 1] > this.tolerance) {
+				zeros[size++] = zero;
+			}
+		}
+		return Arrays.copyOf(zeros, size);
+	}
+
+	/**
+	 * Uses the Secant Method, with the sub-interval as the guesses. If the
+	 * result leaves the sub-interval, or runs out of evaluations, bisection
+	 * is used instead.
+	 *
+	 * @param a start of sub-interval
+	 * @param f_a f(a)
+	 * @param b end of sub-interval, where f(b) has the opposite sign as f(a)
+	 * @param limit evaluations of the function allowed
+	 * @return the zero, or NaN if not found within the limit
+	 */
+	double solve(double a, final double f_a, double b, int limit) {
+		final double zero = new SecantMethod(a, b, this.function, this.stop).solve(limit / 2);
+		if (a <= zero && zero <= b)
+			return zero;
+		limit -= limit / 2;
+
+		final boolean negative = f_a < 0;
+		while (limit-- > 0) {
+			final double x = (a + b) / 2;
+			final double f = this.function.applyAsDouble(x);
+			if (this.stop.test(f))
+				return x;
+			if ((f < 0) == negative) {
+				a = x;
+			} else {
+				b = x;
+			}
+		}
+		return Double.NaN;
+	}
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the time and allocation to find a zero, for each engine,
+ * function variant, end-condition, and distribution of guesses.
+ */
+public class SecantBenchmark {
+	/**
+	 * The double precision functions, in order
+	 */
+	static final DoubleUnaryOperator[] FUNCTIONS = {
+		SecantMethod::function1,
+		SecantMethod::function2,
+		SecantMethod::function3,
+	};
+	/**
+	 * The dual functions, in the same order
+	 */
+	static final NewtonMethod.DualUnaryOperator[] DUAL_FUNCTIONS = {
+		NewtonMethod::function1,
+		NewtonMethod::function2,
+		NewtonMethod::function3,
+	};
+	/**
+	 * The tolerances of |f(x)| for the end-condition
+	 */
+	static final double[] TOLERANCES = { 1e-7, 1e-10, 1e-13 };
+	/**
+	 * Evaluations allowed before a solve is considered failed
+	 */
+	static final int LIMIT = 100;
+	/**
+	 * Guess pairs in each distribution
+	 */
+	static final int PAIRS = 1024;
+
+	/**
+	 * The ways a zero may be found
+	 */
+	enum Engine {
+		/**
+		 * {@link SecantMethod#iterator()}
+		 */
+		ITERATOR {
+			@Override
+			double solve(final double guess1, final double guess2, final int function, final DoublePredicate stop) {
+				double x = Double.NaN;
+				int i = 2;
+				for (final SecantMethod.Iteration it : new SecantMethod(guess1, guess2, FUNCTIONS[function], stop)) {
+					if (i++ > LIMIT)
+						return Double.NaN;
+					x = it.x_n;
+				}
+				return x;
+			}
+		},
+		/**
+		 * {@link SecantMethod#solve(int)}
+		 */
+		LOOP {
+			@Override
+			double solve(final double guess1, final double guess2, final int function, final DoublePredicate stop) {
+				return new SecantMethod(guess1, guess2, FUNCTIONS[function], stop).solve(LIMIT);
+			}
+		},
+		/**
+		 * {@link NewtonMethod} from the first guess
+		 */
+		NEWTON {
+			@Override
+			double solve(final double guess1, final double guess2, final int function, final DoublePredicate stop) {
+				return newton(guess1, function, stop, NewtonMethod.Order.NEWTON);
+			}
+		},
+		/**
+		 * {@link NewtonMethod} from the first guess
+		 */
+		HALLEY {
+			@Override
+			double solve(final double guess1, final double guess2, final int function, final DoublePredicate stop) {
+				return newton(guess1, function, stop, NewtonMethod.Order.HALLEY);
+			}
+		},
+		;
+
+		/**
+		 * @param guess1 first guess
+		 * @param guess2 second guess, if used
+		 * @param function index of the function variant
+		 * @param stop the end-condition
+		 * @return the zero, or NaN if not found
+		 */
+		abstract double solve(double guess1, double guess2, int function, DoublePredicate stop);
+
+		static double newton(final double guess, final int function, final DoublePredicate stop, final NewtonMethod.Order order) {
+			double x = Double.NaN;
+			int i = 1;
+			for (final NewtonMethod.Iteration it : new NewtonMethod(guess, DUAL_FUNCTIONS[function], stop, order)) {
+				if (i++ > LIMIT)
+					return Double.NaN;
+				x = it.x_n;
+			}
+			return x;
+		}
+	}
+
+	/**
+	 * The ways guesses may be chosen
+	 */
+	enum Distribution {
+		/**
+		 * Both guesses within 0.5 of the zero near 6.47
+		 */
+		NEAR {
+			@Override
+			void pair(final Random random, final double[] pair) {
+				pair[0] = 6.47 + random.nextDouble() - 0.5;
+				pair[1] = 6.47 + random.nextDouble() - 0.5;
+			}
+		},
+		/**
+		 * Guesses anywhere from 1 to 20, like the guesses from main
+		 */
+		FAR {
+			@Override
+			void pair(final Random random, final double[] pair) {
+				pair[0] = 1 + random.nextDouble() * 19;
+				pair[1] = 1 + random.nextDouble() * 19;
+			}
+		},
+		/**
+		 * One guess below the zero near 0.0101, and one above the zero near 6.47
+		 */
+		STRADDLING {
+			@Override
+			void pair(final Random random, final double[] pair) {
+				pair[0] = -1 + random.nextDouble();
+				pair[1] = 7 + random.nextDouble() * 3;
+			}
+		},
+		;
+
+		/**
+		 * @param random source of guesses
+		 * @param pair the array to store both guesses
+		 */
+		abstract void pair(Random random, double[] pair);
+
+		/**
+		 * @return the guesses, first guesses in even indices, second guesses in odd
+		 */
+		double[] guesses() {
+			final Random random = new Random(ordinal());
+			final double[] pair = new double[2];
+			final double[] guesses = new double[PAIRS * 2];
+			for (int i = 0; i < PAIRS; i++) {
+				pair(random, pair);
+				guesses[i * 2] = pair[0];
+				guesses[i * 2 + 1] = pair[1];
+			}
+			return guesses;
+		}
+	}
+
+	/**
+	 * Consumes results, so solves are not optimized away
+	 */
+	static volatile double sink;
+
+	/**
+	 * Runs every combination, printing one line for each
+	 *
+	 * @param args optionally, the warmup rounds and measured rounds
+	 */
+	public static void main(final String...args) {
+		final int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		final LongSupplier allocation = allocationCounter();
+
+		System.out.println(String.format(
+			"%-10s %-9s %-10s %-5s %12s %10s %12s %7s",
+			"engine", "function", "guesses", "stop", "ns/solve", "+-", "bytes/solve", "failed"
+			));
+		for (final Distribution distribution : Distribution.values()) {
+			final double[] guesses = distribution.guesses();
+			for (final double tolerance : TOLERANCES) {
+				final DoublePredicate stop = f_n -> Math.abs(f_n) < tolerance;
+				for (int function = 0; function < FUNCTIONS.length; function++) {
+					for (final Engine engine : Engine.values()) {
+						for (int i = 0; i < warmup; i++) {
+							round(engine, function, stop, guesses);
+						}
+						double sum = 0, squares = 0;
+						long bytes = 0;
+						int failed = 0;
+						for (int i = 0; i < rounds; i++) {
+							final long allocated = allocation == null ? 0 : allocation.getAsLong();
+							final long start = System.nanoTime();
+							failed = round(engine, function, stop, guesses);
+							final double nanos = (double) (System.nanoTime() - start) / PAIRS;
+							if (allocation != null) {
+								bytes += allocation.getAsLong() - allocated;
+							}
+							sum += nanos;
+							squares += nanos * nanos;
+						}
+						final double mean = sum / rounds;
+						System.out.println(String.format(
+							"%-10s %-9s %-10s %-5.0e %12.1f %10.1f %12s %7s",
+							engine,
+							"function" + (function + 1),
+							distribution,
+							tolerance,
+							mean,
+							Math.sqrt(Math.max(0, squares / rounds - mean * mean)),
+							allocation == null ? "n/a" : String.format("%.1f", (double) bytes / rounds / PAIRS),
+							failed
+							));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Solves once for every pair of guesses
+	 *
+	 * @return the number of solves that failed
+	 */
+	static int round(final Engine engine, final int function, final DoublePredicate stop, final double[] guesses) {
+		double total = 0;
+		int failed = 0;
+		for (int i = 0; i < guesses.length; i += 2) {
+			final double zero = engine.solve(guesses[i], guesses[i + 1], function, stop);
+			if (Double.isNaN(zero)) {
+				failed++;
+			} else {
+				total += zero;
+			}
+		}
+		sink = total;
+		return failed;
+	}
+
+	/**
+	 * The bean is looked up by name, as com.sun.management is not part of
+	 * every Java platform; a method handle reads it without allocating.
+	 *
+	 * @return the bytes allocated by the calling thread so far, or null if not supported
+	 */
+	static LongSupplier allocationCounter() {
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		try {
+			final Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+			if (!type.isInstance(threads))
+				return null;
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			if (!(boolean) lookup.findVirtual(type, "isThreadAllocatedMemorySupported", MethodType.methodType(boolean.class)).invoke(threads))
+				return null;
+			lookup.findVirtual(type, "setThreadAllocatedMemoryEnabled", MethodType.methodType(void.class, boolean.class)).invoke(threads, true);
+			final MethodHandle allocated = lookup
+				.findVirtual(type, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class))
+				.bindTo(threads);
+			return () -> {
+				try {
+					return (long) allocated.invokeExact(Thread.currentThread().getId());
+				} catch (final Throwable ex) {
+					throw new IllegalStateException(ex);
+				}
+			};
+		} catch (final Throwable ex) {
+			// Not supported on this platform
+			return null;
+		}
+	}
+}
@@ -19,6 +19,7 @@
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleUnaryOperator;
 
@@ -177,7 +178,7 @@ public class SecantMethod implements Iterable<SecantMethod.Iteration> {
 	 * @param x value to calculate
 	 * @return x * e^x - 0.01
 	 */
-	private static double function1(final double x) {
+	static double function1(final double x) {
 		return (x * Math.expm1(-x) + x) - 0.01;
 	}
 
@@ -187,7 +188,7 @@ public class SecantMethod implements Iterable<SecantMethod.Iteration> {
 	 * @param x value to calculate
 	 * @return x * e^x - 0.01
 	 */
-	private static double function2(final double x) {
+	static double function2(final double x) {
 		return x * (Math.expm1(-x) + 1) - 0.01;
 	}
 
@@ -197,10 +198,72 @@ public class SecantMethod implements Iterable<SecantMethod.Iteration> {
 	 * @param x value to calculate
 	 * @return x * e^x - 0.01
 	 */
-	private static double function3(final double x) {
+	static double function3(final double x) {
 		return x * Math.exp(-x) - 0.01;
 	}
 
+	/**
+	 * Copies this to use a {@link CachedFunction}, so the function is
+	 * evaluated at most once for each x still remembered, and counted.
+	 *
+	 * @param capacity the number of results to remember, or 0 to only count
+	 * @return the copy
+	 */
+	SecantMethod cached(final int capacity) {
+		return new SecantMethod(this.guess1, this.guess2, new CachedFunction(this.function, capacity), this.stop);
+	}
+
+	/**
+	 * Provides the counts of the function, after iterations have been performed.
+	 *
+	 * @return the cached function, if this or the function passed in was cached
+	 * @see #cached(int)
+	 */
+	Optional<CachedFunction> statistics() {
+		return this.function instanceof CachedFunction
+			? Optional.of((CachedFunction) this.function)
+			: Optional.empty();
+	}
+
+	/**
+	 * Performs the same iterations as {@link #iterator()}, without creating
+	 * each {@link Iteration}, until the stop condition or the limit.
+	 *
+	 * @param limit the maximum evaluations of the function, including both guesses
+	 * @return the last x{n}, or NaN if the limit was reached before the stop condition
+	 */
+	double solve(final int limit) {
+		if (limit < 2)
+			return Double.NaN;
+		double x_n = this.guess1,
+			f_n = this.function.applyAsDouble(x_n);
+		double x_n_1 = this.guess2,
+			f_n_1 = this.function.applyAsDouble(x_n_1);
+		for (int i = 2;; i++) {
+			if (Math.abs(f_n) > Math.abs(f_n_1)) {
+				double swap;
+
+				swap = f_n;
+				f_n = f_n_1;
+				f_n_1 = swap;
+
+				swap = x_n;
+				x_n = x_n_1;
+				x_n_1 = swap;
+			}
+			if (this.stop.test(f_n))
+				return x_n;
+			if (i == limit)
+				return Double.NaN;
+
+			final double x = x_n - (x_n_1 - x_n) / (f_n_1 - f_n) * f_n;
+			x_n_1 = x_n;
+			f_n_1 = f_n;
+			x_n = x;
+			f_n = this.function.applyAsDouble(x);
+		}
+	}
+
 	@Override
 	public Iterator<Iteration> iterator() {
 		return new Iterator<Iteration>() {
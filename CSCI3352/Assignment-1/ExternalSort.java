@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+/**
+ * Sorts files larger than memory. Chunks of the file are sorted in memory,
+ * and each sorted chunk (a run) is written to a temporary file. The runs are
+ * then merged, using a heap of the first remaining line from each run.
+ */
+class ExternalSort {
+	/**
+	 * Runs merged at once; more runs are merged in multiple passes
+	 */
+	static final int FAN_IN = 128;
+	/**
+	 * Estimated bytes for each line, beyond its characters, for the
+	 * string, parsed object, tuple, and list slot
+	 */
+	static final int LINE_OVERHEAD = 128;
+
+	/**
+	 * A sorted run being merged, positioned at its next line.
+	 */
+	static final class Run<T> implements Closeable {
+		final BufferedReader in;
+		final FileSort.Format<T> format;
+		/**
+		 * The next line, parsed
+		 */
+		Entry<T, String> head;
+
+		Run(final File file, final FileSort.Format<T> format) throws IOException {
+			this.in = new BufferedReader(new FileReader(file));
+			this.format = format;
+		}
+
+		/**
+		 * @return false if there are no more lines
+		 * @throws IOException
+		 */
+		boolean advance() throws IOException {
+			final String line = this.in.readLine();
+			if (line == null)
+				return false;
+			this.head = this.format.tuple(line);
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.in.close();
+		}
+	}
+
+	private ExternalSort() {}
+
+	/**
+	 * Sorts a file by chunks no larger than the memory budget, then merges
+	 * them. If the file fits in one chunk, it is written without a temporary
+	 * file. Temporary files are created beside the output.
+	 * Lines are parsed as they are read, and merging is timed as writing.
+	 *
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse lines
+	 * @param sorter algorithm to sort each chunk
+	 * @param order how to compare lines, the first to write as the smallest
+	 * @param budget estimated bytes of memory for each chunk
+	 * @param end called as each phase ends
+	 * @return the number of lines sorted
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed, with its line number
+	 */
+	static <T> long perform(final File fin, final File fout, final FileSort.Format<T> format, final FileSort.Sorter sorter, final Comparator<Entry<T, String>> order, final long budget, final Consumer<SortStats.Phase> end) throws IOException, NumberFormatException {
+		final File directory = fout.getAbsoluteFile().getParentFile();
+		final List<File> runs = new ArrayList<>();
+		long lines = 0;
+		try {
+			try (final BufferedReader in = new BufferedReader(new FileReader(fin))) {
+				final List<Entry<T, String>> chunk = new ArrayList<>();
+				boolean more = true;
+				while (more) {
+					long used = 0;
+					String line;
+					while (used < budget && (line = in.readLine()) != null) {
+						try {
+							chunk.add(format.tuple(line));
+						} catch (final NumberFormatException ex) {
+							throw FileSort.invalid(lines + chunk.size() + 1, ex);
+						}
+						used += LINE_OVERHEAD + line.length() * 4L;
+					}
+					more = used >= budget;
+					lines += chunk.size();
+					end.accept(SortStats.Phase.READ);
+					if (chunk.isEmpty() && !runs.isEmpty())
+						// The last chunk ended exactly at the budget
+						break;
+					sorter.sort(chunk, order);
+					end.accept(SortStats.Phase.SORT);
+					if (!more && runs.isEmpty()) {
+						// Everything fit in memory
+						write(chunk, fout);
+						end.accept(SortStats.Phase.WRITE);
+						return lines;
+					}
+					final File run = File.createTempFile(fout.getName(), ".run", directory);
+					runs.add(run);
+					write(chunk, run);
+					end.accept(SortStats.Phase.WRITE);
+					chunk.clear();
+				}
+			}
+
+			while (runs.size() > FAN_IN) {
+				final List<File> group = new ArrayList<>(runs.subList(0, FAN_IN));
+				final File run = File.createTempFile(fout.getName(), ".run", directory);
+				merge(group, run, format, order);
+				runs.subList(0, FAN_IN).clear();
+				runs.add(run);
+				delete(group);
+			}
+			merge(runs, fout, format, order);
+			end.accept(SortStats.Phase.WRITE);
+			return lines;
+		} finally {
+			delete(runs);
+		}
+	}
+
+	/**
+	 * Merges sorted runs into a single file.
+	 * The runs are kept in a heap, by the next line of each run, such that
+	 * the root is the run with the next line to write. After writing it, the
+	 * root run is advanced and fixed downward; an exhausted run is replaced
+	 * by the last run in the heap.
+	 *
+	 * @param runs files that are already sorted
+	 * @param fout file to write
+	 * @param format how to parse lines
+	 * @param order how lines were sorted
+	 * @throws IOException
+	 */
+	static <T> void merge(final List<File> runs, final File fout, final FileSort.Format<T> format, final Comparator<Entry<T, String>> order) throws IOException {
+		// The heap is a maximum heap, so the smallest line must be largest
+		final Comparator<Run<T>> heapOrder = (a, b) -> order.compare(b.head, a.head);
+		final List<Run<T>> heap = new ArrayList<>(runs.size());
+		try (final LineWriter out = new LineWriter(fout)) {
+			for (final File file : runs) {
+				final Run<T> run = new Run<>(file, format);
+				// Added first, so it is closed if it cannot be read
+				heap.add(run);
+				if (!run.advance()) {
+					heap.remove(heap.size() - 1);
+					run.close();
+				}
+			}
+			Heapsort.heapify(heap, heapOrder);
+			while (!heap.isEmpty()) {
+				final Run<T> root = heap.get(0);
+				out.write(root.head.getValue());
+				if (!root.advance()) {
+					root.close();
+					Heapsort.swap(0, heap.size() - 1, heap);
+					heap.remove(heap.size() - 1);
+				}
+				final int lastInHeap = heap.size() - 1;
+				int pos = 0;
+				while (pos != (pos = Heapsort.fixDown(pos, lastInHeap, heap, heapOrder)));
+			}
+		} finally {
+			for (final Run<T> run : heap) {
+				run.close();
+			}
+		}
+	}
+
+	static void write(final List<? extends Entry<?, String>> list, final File fout) throws IOException {
+		try (final LineWriter out = new LineWriter(fout)) {
+			for (final Entry<?, String> entry : list) {
+				out.write(entry.getValue());
+			}
+		}
+	}
+
+	static void delete(final List<File> files) {
+		for (final File file : files) {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The files to sort, with the options given before each. Files are sorted
+ * in order, one at a time, or by a pool of threads under a budget of
+ * memory. Each file starts once there is a free thread, and the memory
+ * estimated for the files being sorted leaves room for it; a file estimated
+ * to need the whole budget is sorted alone.
+ */
+final class FilePool {
+	/**
+	 * A file to sort, and the options to sort it with.
+	 */
+	static final class Job {
+		final FileSort options;
+		final File fin;
+		final File fout;
+		/**
+		 * Estimated bytes of memory, at most the budget
+		 */
+		long memory;
+		long nanos;
+
+		Job(final FileSort options, final File fin, final File fout) {
+			this.options = options;
+			this.fin = fin;
+			this.fout = fout;
+		}
+
+		void run() {
+			final long start = System.nanoTime();
+			this.options.perform(this.fin, this.fout);
+			this.nanos = System.nanoTime() - start;
+		}
+	}
+
+	final Logger log;
+	final List<Job> jobs = new ArrayList<>();
+	/**
+	 * Files to sort at once, or 0 to sort them in order without a summary
+	 */
+	int threads = 0;
+	/**
+	 * Estimated bytes of memory for the files sorted at once
+	 */
+	long budget = Runtime.getRuntime().maxMemory();
+	private int running = 0;
+	private long reserved = 0;
+
+	/**
+	 * @param log where the summary is reported
+	 */
+	FilePool(final Logger log) {
+		this.log = log;
+	}
+
+	/**
+	 * @param options the options for the file, copied such that later parameters do not change them
+	 * @param fin file to read
+	 * @param fout file to write
+	 */
+	void add(final FileSort options, final File fin, final File fout) {
+		this.jobs.add(new Job(options.copy(), fin, fout));
+	}
+
+	/**
+	 * Sorts every file, then reports the time to sort each if there is a pool.
+	 */
+	void run() {
+		if (this.threads == 0) {
+			for (final Job job : this.jobs) {
+				job.run();
+			}
+			return;
+		}
+		final long start = System.nanoTime();
+		// The peak heap is shared by the files sorted at once, so it is only reset here
+		SortStats.resetPeakHeap();
+		final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			for (final Job job : this.jobs) {
+				try {
+					job.memory = Math.min(job.options.estimate(job.fin), this.budget);
+				} catch (final IOException ex) {
+					// Reported when sorted
+					job.memory = 0;
+				}
+				acquire(job.memory);
+				job.options.concurrent = true;
+				executor.execute(() -> {
+					try {
+						job.run();
+					} finally {
+						release(job.memory);
+					}
+				});
+			}
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			this.log.warning("Interrupted, no more files will be sorted");
+		} finally {
+			executor.shutdown();
+		}
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES));
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		summary(System.nanoTime() - start);
+	}
+
+	/**
+	 * Waits for a free thread, and for the memory, unless no other file is being sorted.
+	 *
+	 * @param memory estimated bytes of memory, at most the budget
+	 * @throws InterruptedException
+	 */
+	private synchronized void acquire(final long memory) throws InterruptedException {
+		while (this.running == this.threads || (this.running > 0 && this.reserved + memory > this.budget)) {
+			wait();
+		}
+		this.running++;
+		this.reserved += memory;
+	}
+
+	private synchronized void release(final long memory) {
+		this.running--;
+		this.reserved -= memory;
+		notifyAll();
+	}
+
+	/**
+	 * @param nanos time to sort every file
+	 */
+	private void summary(final long nanos) {
+		final StringBuilder summary = new StringBuilder(String.format(
+			"Sorted %d files in %d ms, %d at a time%n",
+			this.jobs.size(),
+			TimeUnit.NANOSECONDS.toMillis(nanos),
+			this.threads
+			));
+		for (final Job job : this.jobs) {
+			summary.append(String.format(
+				"%10d ms %s%n",
+				TimeUnit.NANOSECONDS.toMillis(job.nanos),
+				job.fin
+				));
+		}
+		this.log.info(summary.toString());
+	}
+}
@@ -0,0 +1,1506 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The options for sorting files, as specified by parameters, and the
+ * reading, sorting, and writing of each file. Shared by the sort tools,
+ * which only differ by the algorithm used.
+ */
+class FileSort {
+	/**
+	 * An in-place sorting algorithm.
+	 */
+	@FunctionalInterface
+	interface Sorter {
+		<T> void sort(List<T> l, Comparator<? super T> c);
+	}
+
+	/**
+	 * An in-place sorting algorithm for primitive keys, moving each element
+	 * of a permutation with its key.
+	 */
+	@FunctionalInterface
+	interface LongSorter {
+		void sort(long[] keys, int[] perm);
+	}
+
+	/**
+	 * An in-place sorting algorithm for primitive prefixes of each value,
+	 * moving each element of a permutation with its prefix. Only values with
+	 * equal prefixes are compared in full.
+	 */
+	@FunctionalInterface
+	interface PrefixSorter {
+		/**
+		 * @param prefixes a long for each value, such that a smaller prefix is a smaller value
+		 * @param perm indices of the values for each prefix
+		 * @param ties compares the values of two indices
+		 */
+		void sort(long[] prefixes, int[] perm, IntBinaryOperator ties);
+	}
+
+	/**
+	 * An in-place selection algorithm, moving the elements of some ranks to
+	 * their sorted index, without sorting the rest.
+	 */
+	@FunctionalInterface
+	interface Selector {
+		/**
+		 * @param ranks the sorted indices to select, in ascending order
+		 */
+		<T> void select(int[] ranks, List<T> l, Comparator<? super T> c);
+	}
+
+	/**
+	 * Parses a line to a long that orders the same as the parsed object.
+	 */
+	@FunctionalInterface
+	interface KeyParser {
+		/**
+		 * @param s original data
+		 * @return the key
+		 * @throws ArithmeticException if the value does not fit in a key
+		 * @throws NumberFormatException if the value is not valid
+		 */
+		long parse(String s) throws ArithmeticException, NumberFormatException;
+	}
+
+	/**
+	 * The flags that only one tool accepts, like the parameter of its algorithm.
+	 */
+	@FunctionalInterface
+	interface Flags {
+		/**
+		 * @param flag an argument that is not a flag of every tool
+		 * @param args the remaining arguments, where the parameter of the flag is next
+		 * @return false if the flag is not accepted, so the argument is a file
+		 */
+		boolean parse(String flag, Iterator<String> args);
+	}
+
+	/**
+	 * Sets an option from the parameter of a flag.
+	 */
+	@FunctionalInterface
+	interface Parameter {
+		/**
+		 * @param parameter the argument after the flag
+		 * @throws IllegalArgumentException if the parameter is not valid
+		 */
+		void set(String parameter) throws IllegalArgumentException;
+	}
+
+	/**
+	 * How the lines of a file are parsed and compared.
+	 *
+	 * @param <T> the parsed type
+	 */
+	static final class Format<T> {
+		static final Format<String> STRING = new Format<>(String::compareTo, Object::toString, null, null);
+		static final Format<BigInteger> INTEGER = new Format<>(BigInteger::compareTo, BigInteger::new, FileSort::integerKey, n -> sortable(n.doubleValue()));
+		/**
+		 * Parsed to {@link FileSort#decimal(String)}, instead of {@link BigDecimal}
+		 */
+		static final Format<long[]> DECIMAL = new Format<>(FileSort::compareDecimals, FileSort::decimal, FileSort::decimalKey, key -> key[0] ^ Long.MIN_VALUE);
+
+		final Comparator<? super T> comparator;
+		final Function<? super String, ? extends T> parser;
+		/**
+		 * Primitive keys for most values, or null if never used
+		 */
+		final KeyParser key;
+		/**
+		 * A long for each parsed object, such that a smaller prefix is a smaller object
+		 */
+		final ToLongFunction<? super T> prefix;
+
+		Format(final Comparator<? super T> comparator, final Function<? super String, ? extends T> parser, final KeyParser key, final ToLongFunction<? super T> prefix) {
+			this.comparator = comparator;
+			this.parser = parser;
+			this.key = key;
+			this.prefix = prefix;
+		}
+
+		/**
+		 * Wrap tuples around parsed object and original data.
+		 * Comparators only work on parsed object, but we write the original back out.
+		 *
+		 * @param s original data
+		 * @return the tuple
+		 */
+		Entry<T, String> tuple(final String s) {
+			return new SimpleEntry<>(this.parser.apply(s), s);
+		}
+
+		/**
+		 * @param reverse if the order should be largest first
+		 * @return comparator for tuples
+		 */
+		Comparator<Entry<T, String>> order(final boolean reverse) {
+			final Comparator<Entry<T, String>> order = Entry.comparingByKey(this.comparator);
+			return reverse ? order.reversed() : order;
+		}
+	}
+
+	/**
+	 * Significant digits of a decimal that always convert to a distinct double
+	 */
+	static final int EXACT_DIGITS = 15;
+	/**
+	 * Largest power of ten for a decimal key, well within a normal double
+	 */
+	static final int EXACT_EXPONENT = 290;
+	/**
+	 * Bytes read from the start of a file to estimate its lines
+	 */
+	static final int SAMPLE = 1 << 16;
+
+	final Logger log;
+	Sorter sorter;
+	LongSorter longSorter;
+	/**
+	 * The same algorithm, for prefixes, or null if there is none
+	 */
+	PrefixSorter prefixSorter = null;
+	PrefixSorter parallelPrefixSorter = null;
+	/**
+	 * The same algorithm, in parallel, or null if there is none
+	 */
+	Sorter parallelSorter = null;
+	LongSorter parallelLongSorter = null;
+	Format<?> format = Format.STRING;
+	boolean reverse = false;
+	/**
+	 * Memory to use before sorting externally, or 0 to always sort in memory
+	 */
+	long external = 0;
+	/**
+	 * Lines to write from the start of the sorted file, or 0 to write all
+	 */
+	int top = 0;
+	/**
+	 * The algorithm to select lines with, or null if there is none
+	 */
+	Selector selector = null;
+	/**
+	 * Line numbers of the sorted file to write, from 1, or null to write all
+	 */
+	int[] select = null;
+	/**
+	 * Percentiles of the sorted file to write, or null to write all
+	 */
+	double[] percentiles = null;
+	/**
+	 * If files are memory-mapped and sorted by line index, when in memory
+	 */
+	boolean mapped = false;
+	/**
+	 * If the parallel algorithm is used, when there is one, and files in
+	 * memory are parsed concurrently
+	 */
+	boolean parallel = false;
+	/**
+	 * If numbers are sorted by prefixes, when they do not all have primitive keys;
+	 * plaintext always is, when there is an algorithm for prefixes
+	 */
+	boolean prefixed = false;
+	/**
+	 * If the time of each phase, comparisons, and peak heap of each file are printed, as a line of JSON
+	 */
+	boolean stats = false;
+	/**
+	 * If other files may be sorted at the same time, such that the peak heap
+	 * is shared, and measured from when the files started instead
+	 */
+	boolean concurrent = false;
+	/**
+	 * Statistics of the file being sorted, or null if not selected
+	 */
+	private SortStats measured = null;
+
+	/**
+	 * @param log where errors are reported
+	 * @param sorter the algorithm to sort with
+	 * @param longSorter the same algorithm, for primitive keys
+	 */
+	FileSort(final Logger log, final Sorter sorter, final LongSorter longSorter) {
+		this.log = log;
+		this.sorter = sorter;
+		this.longSorter = longSorter;
+	}
+
+	/**
+	 * @return the same options, which are not changed by changing these
+	 */
+	FileSort copy() {
+		final FileSort copy = new FileSort(this.log, this.sorter, this.longSorter);
+		copy.prefixSorter = this.prefixSorter;
+		copy.parallelPrefixSorter = this.parallelPrefixSorter;
+		copy.parallelSorter = this.parallelSorter;
+		copy.parallelLongSorter = this.parallelLongSorter;
+		copy.format = this.format;
+		copy.reverse = this.reverse;
+		copy.external = this.external;
+		copy.top = this.top;
+		copy.selector = this.selector;
+		copy.select = this.select;
+		copy.percentiles = this.percentiles;
+		copy.mapped = this.mapped;
+		copy.parallel = this.parallel;
+		copy.prefixed = this.prefixed;
+		copy.stats = this.stats;
+		copy.concurrent = this.concurrent;
+		return copy;
+	}
+
+	/**
+	 * @return the algorithm to sort with, in parallel if selected and available
+	 */
+	Sorter sorter() {
+		return this.parallel && this.parallelSorter != null ? this.parallelSorter : this.sorter;
+	}
+
+	/**
+	 * @return the algorithm to sort primitive keys with, in parallel if selected and available
+	 */
+	LongSorter longSorter() {
+		return this.parallel && this.parallelLongSorter != null ? this.parallelLongSorter : this.longSorter;
+	}
+
+	/**
+	 * @return the algorithm to sort prefixes with, in parallel if selected and available, or null if there is none
+	 */
+	PrefixSorter prefixSorter() {
+		return this.parallel && this.parallelPrefixSorter != null ? this.parallelPrefixSorter : this.prefixSorter;
+	}
+
+	/**
+	 * Read file, sort, and write the sorted lines.
+	 * Errors are logged.
+	 *
+	 * @param fin file to read
+	 * @param fout file to write
+	 */
+	void perform(final File fin, final File fout) {
+		if (!(fin.exists() && fin.canRead())) {
+			this.log.severe(String.format(
+				"`%s' points to `%s', but cannot be read as a file",
+				fin, fin.getAbsolutePath()
+				));
+			return;
+		}
+		if (this.stats) {
+			this.measured = new SortStats(fin, !this.concurrent);
+		}
+		boolean failed = true;
+		try {
+			if (this.selector != null && (this.select != null || this.percentiles != null)) {
+				select(fin, fout, this.format);
+			} else if (this.top > 0) {
+				top(fin, fout, this.format);
+			} else if (this.external > 0) {
+				external(fin, fout, this.format);
+			} else if (this.mapped) {
+				mapped(fin, fout, this.format);
+			} else {
+				perform(fin, fout, this.format);
+			}
+			failed = false;
+		} catch (final NumberFormatException ex) {
+			this.log.log(
+				Level.SEVERE,
+				String.format("%s contains invalid data", fin),
+				ex
+				);
+		} catch (final UncheckedIOException | IOException ex) {
+			this.log.log(
+				Level.SEVERE,
+				String.format("Could not sort %s to %s", fin.getAbsolutePath(), fout.getAbsolutePath()),
+				ex
+				);
+		} finally {
+			if (this.measured != null) {
+				// A file that failed is not sorted, and only its error is logged
+				if (!failed && this.measured.written()) {
+					System.out.println(this.measured.json());
+				}
+				this.measured = null;
+			}
+		}
+	}
+
+	/**
+	 * @param phase the phase that has ended, when measured
+	 */
+	private void end(final SortStats.Phase phase) {
+		if (this.measured != null) {
+			this.measured.end(phase);
+		}
+	}
+
+	/**
+	 * @param lines the lines being sorted, when measured
+	 */
+	private void lines(final long lines) {
+		if (this.measured != null) {
+			this.measured.lines = lines;
+		}
+	}
+
+	/**
+	 * Marks the keys being sorted as primitive, when measured, so they
+	 * are compared by the algorithm without being counted.
+	 */
+	private void keyed() {
+		if (this.measured != null) {
+			this.measured.keyed = true;
+		}
+	}
+
+	/**
+	 * @return the comparator, counted when measured
+	 */
+	private <T> Comparator<T> count(final Comparator<T> comparator) {
+		return this.measured == null ? comparator : this.measured.count(comparator);
+	}
+
+	/**
+	 * @return the comparison of indices, counted when measured
+	 */
+	private IntBinaryOperator countTies(final IntBinaryOperator ties) {
+		return this.measured == null ? ties : this.measured.countTies(ties);
+	}
+
+	/**
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse and compare lines
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed
+	 * @see Heapsort#top(File, File, Format, Comparator, int, Consumer)
+	 */
+	<T> void top(final File fin, final File fout, final Format<T> format) throws IOException, NumberFormatException {
+		lines(Heapsort.top(fin, fout, format, count(format.order(this.reverse)), this.top, this::end));
+	}
+
+	/**
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse and compare lines
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed
+	 * @see ExternalSort#perform(File, File, Format, Sorter, Comparator, long, Consumer)
+	 */
+	<T> void external(final File fin, final File fout, final Format<T> format) throws IOException, NumberFormatException {
+		lines(ExternalSort.perform(fin, fout, format, sorter(), count(format.order(this.reverse)), this.external, this::end));
+	}
+
+	/**
+	 * Estimates the memory to sort a file, the same as
+	 * {@link ExternalSort} estimates each chunk. The number of lines is
+	 * estimated from the lines in the first bytes of the file.
+	 *
+	 * @param fin file to sort
+	 * @return estimated bytes of memory
+	 * @throws IOException
+	 */
+	long estimate(final File fin) throws IOException {
+		final long length = fin.length();
+		final byte[] sample = new byte[(int) Math.min(length, SAMPLE)];
+		int read = 0;
+		try (final InputStream in = new FileInputStream(fin)) {
+			for (int n; read < sample.length && (n = in.read(sample, read, sample.length - read)) >= 0; read += n);
+		}
+		long lines = 1;
+		for (int i = 0; i < read; i++) {
+			if (sample[i] == '\n') {
+				lines++;
+			}
+		}
+		lines = read == 0 ? 0 : Math.max(lines * length / read, 1);
+		final long memory = lines * ExternalSort.LINE_OVERHEAD + length * 4;
+		if (this.selector != null && (this.select != null || this.percentiles != null))
+			return memory;
+		if (this.top > 0)
+			return Math.min(memory, this.top * (ExternalSort.LINE_OVERHEAD + length / Math.max(lines, 1) * 4));
+		if (this.external > 0)
+			return Math.min(memory, this.external);
+		if (this.mapped)
+			return lines * ExternalSort.LINE_OVERHEAD;
+		return memory;
+	}
+
+	/**
+	 * Read file, transform lines, sort in memory, and write resulting data.
+	 *
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse and compare lines
+	 * @throws NumberFormatException if a line cannot be parsed
+	 */
+	<T> void perform(final File fin, final File fout, final Format<T> format) throws NumberFormatException {
+		final List<String> sorted;
+		try {
+			if (this.parallel && LineIndex.ascii(Charset.defaultCharset())) {
+				final LineChunks<T> read = LineChunks.read(fin, format, Charset.defaultCharset());
+				end(SortStats.Phase.READ);
+				lines(read.lines.size());
+				sorted = sort(read, format);
+			} else {
+				final List<String> lines = read(fin);
+				end(SortStats.Phase.READ);
+				lines(lines.size());
+				sorted = sort(lines, format);
+			}
+		} catch (final UncheckedIOException | IOException ex) {
+			this.log.log(
+				Level.SEVERE,
+				String.format("Could not read from %s", fin.getAbsolutePath()),
+				ex
+				);
+			return;
+		}
+		try {
+			write(sorted, fout, this.reverse);
+			end(SortStats.Phase.WRITE);
+		} catch (final IOException ex) {
+			this.log.log(
+				Level.SEVERE,
+				String.format("Could not write to %s", fout.getAbsolutePath()),
+				ex
+				);
+		}
+	}
+
+	/**
+	 * @param fin file to read
+	 * @return each line of the file
+	 * @throws IOException
+	 */
+	static List<String> read(final File fin) throws IOException {
+		try (final BufferedReader in = new BufferedReader(new FileReader(fin))) {
+			return in
+				.lines()
+				.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Read file, and write only the lines at the selected line numbers and
+	 * percentiles of the sorted file, in ascending order of rank.
+	 *
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse and compare lines
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed
+	 */
+	<T> void select(final File fin, final File fout, final Format<T> format) throws IOException, NumberFormatException {
+		final List<String> lines = read(fin);
+		end(SortStats.Phase.READ);
+		lines(lines.size());
+		final List<Entry<T, String>> read = new ArrayList<>(lines.size());
+		try {
+			for (final String line : lines) {
+				read.add(format.tuple(line));
+			}
+		} catch (final NumberFormatException ex) {
+			throw invalid(read.size() + 1, ex);
+		}
+		end(SortStats.Phase.PARSE);
+		final int[] ranks = ranks(read.size());
+		if (ranks.length == 0) {
+			this.log.warning(String.format("%s has no line at the selected ranks", fin));
+		}
+		this.selector.select(ranks, read, count(format.order(this.reverse)));
+		end(SortStats.Phase.SORT);
+		try (final LineWriter out = new LineWriter(fout)) {
+			for (final int rank : ranks) {
+				out.write(read.get(rank).getValue());
+			}
+		}
+		end(SortStats.Phase.WRITE);
+	}
+
+	/**
+	 * The nearest rank of percentile p is ceil(p * size / 100), from 1.
+	 * Line numbers past the end of the file are ignored.
+	 *
+	 * @param size number of lines
+	 * @return the distinct indices of the selected lines, in ascending order
+	 */
+	int[] ranks(final int size) {
+		final IntStream select = this.select == null
+			? IntStream.empty()
+			: Arrays.stream(this.select).map(line -> line - 1);
+		final IntStream percentiles = this.percentiles == null
+			? IntStream.empty()
+			: Arrays.stream(this.percentiles).mapToInt(p -> Math.max((int) Math.ceil(p * size / 100), 1) - 1);
+		return IntStream.concat(select, percentiles)
+			.filter(rank -> rank < size)
+			.sorted()
+			.distinct()
+			.toArray();
+	}
+
+	/**
+	 * Sorts lines in memory. Plaintext is sorted by a primitive prefix of
+	 * each line, with a permutation of the lines. When every line has a
+	 * primitive key, the keys are sorted the same way, instead of sorting
+	 * tuples. When selected, prefixes of the parsed lines are sorted the
+	 * same way.
+	 *
+	 * @param lines the lines to sort, not modified
+	 * @param format how to parse and compare lines
+	 * @return the lines, in ascending order
+	 * @throws NumberFormatException if a line cannot be parsed
+	 */
+	<T> List<String> sort(final List<String> lines, final Format<T> format) throws NumberFormatException {
+		final int[] perm = format == Format.STRING
+			? strings(lines)
+			: keys(lines.size(), lines::get, format);
+		if (perm != null)
+			return permute(lines, perm);
+		return sort(lines, values(lines.size(), lines::get, format), format);
+	}
+
+	/**
+	 * Sorts lines in memory, that have been read and parsed concurrently,
+	 * the same as {@link #sort(List, Format)}.
+	 *
+	 * @param read the lines to sort, and their keys or values
+	 * @param format how to parse and compare lines
+	 * @return the lines, in ascending order
+	 */
+	<T> List<String> sort(final LineChunks<T> read, final Format<T> format) {
+		final List<String> lines = read.lines;
+		final int[] perm = read.keys != null
+			? sortKeys(read.keys)
+			: format == Format.STRING ? strings(lines) : null;
+		if (perm != null)
+			return permute(lines, perm);
+		return sort(lines, read.values != null ? read.values : values(lines.size(), lines::get, format), format);
+	}
+
+	/**
+	 * Sorts parsed lines, by their prefixes when selected, or as tuples.
+	 *
+	 * @param lines the lines to sort, not modified
+	 * @param values each line, parsed
+	 * @param format how to compare lines
+	 * @return the lines, in ascending order
+	 */
+	<T> List<String> sort(final List<String> lines, final List<T> values, final Format<T> format) {
+		if (prefixed(format))
+			return permute(lines, prefixes(values.size(), values::get, format));
+		final List<Entry<T, String>> read = new ArrayList<>(lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			read.add(new SimpleEntry<>(values.get(i), lines.get(i)));
+		}
+		end(SortStats.Phase.PARSE);
+		sorter().sort(read, count(format.order(false)));
+		end(SortStats.Phase.SORT);
+		return new AbstractList<String>() {
+			@Override
+			public String get(final int index) {
+				return read.get(index).getValue();
+			}
+
+			@Override
+			public int size() {
+				return read.size();
+			}
+		};
+	}
+
+	/**
+	 * Map file, sort the indices of its lines, and write the original bytes
+	 * of each line. Strings are compared from the mapped bytes; other
+	 * formats are parsed once for each line, without keeping the line.
+	 *
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse and compare lines
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed
+	 */
+	<T> void mapped(final File fin, final File fout, final Format<T> format) throws IOException, NumberFormatException {
+		final LineIndex index = LineIndex.map(fin, Charset.defaultCharset());
+		end(SortStats.Phase.READ);
+		lines(index.size);
+		final int[] order = sort(index, format);
+		index.write(order, fout, this.reverse);
+		end(SortStats.Phase.WRITE);
+	}
+
+	/**
+	 * @param index the lines of a mapped file
+	 * @param format how to parse and compare lines
+	 * @return the sorted indices of the lines
+	 * @throws NumberFormatException if a line cannot be parsed
+	 */
+	<T> int[] sort(final LineIndex index, final Format<T> format) throws NumberFormatException {
+		final int[] perm = keys(index.size, index::line, format);
+		if (perm != null)
+			return perm;
+		final LineIndex.Indices order = new LineIndex.Indices(index.size);
+		if (format == Format.STRING) {
+			final PrefixSorter prefixSorter = prefixSorter();
+			if (prefixSorter != null && index.ascii) {
+				final int common = index.common();
+				final long[] prefixes = new long[index.size];
+				for (int i = 0; i < index.size; i++) {
+					prefixes[i] = index.prefix(i, common);
+				}
+				end(SortStats.Phase.PARSE);
+				prefixSorter.sort(prefixes, order.array, countTies(index::compare));
+				end(SortStats.Phase.SORT);
+				return order.array;
+			}
+			sorter().sort(order, this.<Integer>count(index::compare));
+		} else {
+			final List<T> keys = values(index.size, index::line, format);
+			if (prefixed(format))
+				return prefixes(index.size, keys::get, format);
+			end(SortStats.Phase.PARSE);
+			final Comparator<? super T> comparator = format.comparator;
+			sorter().sort(order, count((a, b) -> comparator.compare(keys.get(a), keys.get(b))));
+		}
+		end(SortStats.Phase.SORT);
+		return order.array;
+	}
+
+	/**
+	 * Sorts the primitive key of each line, if every line has one.
+	 *
+	 * @param size number of lines
+	 * @param lines each line, by index
+	 * @param format how to parse lines
+	 * @return the sorted indices of the lines, or null if a line does not have a primitive key
+	 * @throws NumberFormatException if a line cannot be parsed
+	 */
+	int[] keys(final int size, final IntFunction<String> lines, final Format<?> format) throws NumberFormatException {
+		if (format.key == null)
+			return null;
+		final long[] keys = new long[size];
+		int i = 0;
+		try {
+			for (; i < size; i++) {
+				keys[i] = format.key.parse(lines.apply(i));
+			}
+		} catch (final ArithmeticException ex) {
+			return null;
+		} catch (final NumberFormatException ex) {
+			throw invalid(i + 1, ex);
+		}
+		end(SortStats.Phase.PARSE);
+		return sortKeys(keys);
+	}
+
+	/**
+	 * @param keys a primitive key for each line, sorted in-place
+	 * @return the sorted indices of the keys
+	 */
+	int[] sortKeys(final long[] keys) {
+		final int[] perm = new int[keys.length];
+		for (int i = 0; i < perm.length; i++) {
+			perm[i] = i;
+		}
+		keyed();
+		longSorter().sort(keys, perm);
+		end(SortStats.Phase.SORT);
+		return perm;
+	}
+
+	/**
+	 * @param size number of lines
+	 * @param lines each line, by index
+	 * @param format how to parse lines
+	 * @return each line, parsed
+	 * @throws NumberFormatException if a line cannot be parsed, with its line number
+	 */
+	static <T> List<T> values(final int size, final IntFunction<String> lines, final Format<T> format) throws NumberFormatException {
+		final List<T> values = new ArrayList<>(size);
+		try {
+			while (values.size() < size) {
+				values.add(format.parser.apply(lines.apply(values.size())));
+			}
+		} catch (final NumberFormatException ex) {
+			throw invalid(values.size() + 1, ex);
+		}
+		return values;
+	}
+
+	/**
+	 * @param line the line number, from 1
+	 * @param ex why the line is not valid
+	 * @return an exception with the line number, caused by ex
+	 */
+	static NumberFormatException invalid(final long line, final NumberFormatException ex) {
+		final NumberFormatException invalid = new NumberFormatException(String.format("line %d: %s", line, ex.getMessage()));
+		invalid.initCause(ex);
+		return invalid;
+	}
+
+	/**
+	 * @param format how to compare values
+	 * @return true if selected, and there are prefixes of the format and an algorithm for them
+	 */
+	boolean prefixed(final Format<?> format) {
+		return this.prefixed && prefixSorter() != null && format.prefix != null;
+	}
+
+	/**
+	 * Sorts the prefix of each value. Values with equal prefixes are
+	 * compared in full.
+	 *
+	 * @param size number of values
+	 * @param values each parsed value, by index
+	 * @param format how to compare values
+	 * @return the sorted indices of the values
+	 */
+	<T> int[] prefixes(final int size, final IntFunction<? extends T> values, final Format<T> format) {
+		final long[] prefixes = new long[size];
+		final int[] perm = new int[size];
+		for (int i = 0; i < size; i++) {
+			prefixes[i] = format.prefix.applyAsLong(values.apply(i));
+			perm[i] = i;
+		}
+		end(SortStats.Phase.PARSE);
+		final Comparator<? super T> comparator = format.comparator;
+		prefixSorter().sort(prefixes, perm, countTies((a, b) -> comparator.compare(values.apply(a), values.apply(b))));
+		end(SortStats.Phase.SORT);
+		return perm;
+	}
+
+	/**
+	 * Sorts plaintext by the prefix of each line after the characters
+	 * common to every line. Lines with equal prefixes are compared in full.
+	 *
+	 * @param lines
+	 * @return the sorted indices of the lines, or null if there is no algorithm for prefixes
+	 */
+	int[] strings(final List<String> lines) {
+		final PrefixSorter prefixSorter = prefixSorter();
+		if (prefixSorter == null)
+			return null;
+		final int common = commonPrefix(lines);
+		final long[] prefixes = new long[lines.size()];
+		final int[] perm = new int[lines.size()];
+		for (int i = 0; i < prefixes.length; i++) {
+			prefixes[i] = stringPrefix(lines.get(i), common);
+			perm[i] = i;
+		}
+		end(SortStats.Phase.PARSE);
+		prefixSorter.sort(prefixes, perm, countTies((a, b) -> lines.get(a).compareTo(lines.get(b))));
+		end(SortStats.Phase.SORT);
+		return perm;
+	}
+
+	/**
+	 * @param lines
+	 * @return the number of characters at the start of every line that are the same
+	 */
+	static int commonPrefix(final List<String> lines) {
+		if (lines.isEmpty())
+			return 0;
+		final String first = lines.get(0);
+		int common = first.length();
+		for (final String line : lines) {
+			int i = 0;
+			for (final int length = Math.min(common, line.length()); i < length && line.charAt(i) == first.charAt(i); i++);
+			if ((common = i) == 0)
+				break;
+		}
+		return common;
+	}
+
+	/**
+	 * Each ASCII character is a byte, in 8 bytes. The first character that
+	 * is not ASCII is higher than all of them, and is marked as 0x80, with
+	 * the rest left as 0, the same as a shorter string.
+	 *
+	 * @param s a string
+	 * @param offset characters to skip
+	 * @return the characters from offset, such that a smaller prefix is a smaller string
+	 */
+	static long stringPrefix(final String s, final int offset) {
+		long prefix = 0;
+		for (int i = 0; i < 8; i++) {
+			final int at = offset + i;
+			final int c = at < s.length() ? s.charAt(at) : 0;
+			if (c >= 0x80) {
+				prefix = (prefix << 8 | 0x80) << 8 * (7 - i);
+				break;
+			}
+			prefix = prefix << 8 | c;
+		}
+		// Bytes are unsigned, but longs compare signed
+		return prefix ^ Long.MIN_VALUE;
+	}
+
+	/**
+	 * @param d a double, not NaN
+	 * @return a long that orders the same as d, with -0.0 before 0.0
+	 */
+	static long sortable(final double d) {
+		// The bits of a double order the same as a long, once the sign bit is made to flip the others
+		final long bits = Double.doubleToRawLongBits(d);
+		return bits ^ (bits >> 63 & Long.MAX_VALUE);
+	}
+
+	/**
+	 * @param list
+	 * @param perm indices of list
+	 * @return a view of list, in the order of perm
+	 */
+	static <T> List<T> permute(final List<T> list, final int[] perm) {
+		return new AbstractList<T>() {
+			@Override
+			public T get(final int index) {
+				return list.get(perm[index]);
+			}
+
+			@Override
+			public int size() {
+				return perm.length;
+			}
+		};
+	}
+
+	/**
+	 * @param s a natural number
+	 * @return the number
+	 * @throws ArithmeticException if s does not fit in a long
+	 * @throws NumberFormatException if s is not a natural number
+	 */
+	static long integerKey(final String s) throws ArithmeticException, NumberFormatException {
+		try {
+			return Long.parseLong(s);
+		} catch (final NumberFormatException ex) {
+			// Throws when s is not valid at all
+			new BigInteger(s);
+			throw new ArithmeticException(s + " does not fit in a long");
+		}
+	}
+
+	/**
+	 * Decimals with up to {@link #EXACT_DIGITS} significant digits convert
+	 * to distinct doubles in the same order.
+	 *
+	 * @param s a decimal
+	 * @return a key that orders the same as the decimal
+	 * @throws ArithmeticException if s has too many digits, or too large an exponent
+	 * @throws NumberFormatException if s is not a decimal
+	 */
+	static long decimalKey(final String s) throws ArithmeticException, NumberFormatException {
+		if (!exact(s)) {
+			// Throws when s is not valid at all
+			new BigDecimal(s);
+			throw new ArithmeticException(s + " is not exact as a double");
+		}
+		// Adding zero turns -0.0 into 0.0, the same as 0
+		return sortable(Double.parseDouble(s) + 0D);
+	}
+
+	/**
+	 * Normalizes a decimal to the bytes of a key, packed in longs from the
+	 * most significant byte, that orders unsigned the same as the decimal.
+	 * The value is 0.d &times; 10^e, for the digits d without leading or
+	 * trailing zeros, so equal decimals have equal keys, like 1.5 and 1.500E0.
+	 * The first byte is 0 if negative, 1 if zero, and 2 if positive. Then,
+	 * when not zero, e + 2^39 is 5 bytes, each pair of digits (the last
+	 * padded with 0) is a byte from 1 to 100, and a byte of 0 ends the key,
+	 * such that a shorter d is lower. The bytes after the first are
+	 * inverted for negative decimals, such that larger magnitudes are lower.
+	 *
+	 * @param s a decimal
+	 * @return the key
+	 * @throws NumberFormatException if s is not a decimal
+	 * @see #compareDecimals(long[], long[])
+	 */
+	static long[] decimal(final String s) throws NumberFormatException {
+		// Plain ASCII decimals are scanned directly, the same as BigDecimal
+		final int length = s.length();
+		int i = 0;
+		final boolean negative = i < length && s.charAt(i) == '-';
+		if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			i++;
+		}
+		final char[] digits = new char[length];
+		int significant = 0, count = 0, leading = 0, point = -1;
+		for (; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c == '.' && point == -1) {
+				point = count;
+			} else if (c >= '0' && c <= '9') {
+				if (significant == 0 && c == '0') {
+					leading++;
+				} else {
+					digits[significant++] = c;
+				}
+				count++;
+			} else {
+				break;
+			}
+		}
+		long exponent = (point == -1 ? count : point) - leading;
+		if (i < length) {
+			if (count == 0 || s.charAt(i) != 'e' && s.charAt(i) != 'E')
+				return bigDecimal(s);
+			i++;
+			final boolean negativeExponent = i < length && s.charAt(i) == '-';
+			if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+				i++;
+			}
+			if (i == length || length - i > 9 || length > 1 << 28)
+				// BigDecimal checks that the scale fits in an int
+				return bigDecimal(s);
+			long e = 0;
+			for (; i < length; i++) {
+				final char c = s.charAt(i);
+				if (c < '0' || c > '9')
+					return bigDecimal(s);
+				e = e * 10 + c - '0';
+			}
+			exponent += negativeExponent ? -e : e;
+		} else if (count == 0)
+			return bigDecimal(s);
+		return decimal(negative, digits, significant, exponent);
+	}
+
+	/**
+	 * @see #decimal(String)
+	 */
+	private static long[] bigDecimal(final String s) throws NumberFormatException {
+		final BigDecimal value = new BigDecimal(s);
+		final char[] digits = value.unscaledValue().abs().toString().toCharArray();
+		return decimal(value.signum() < 0, digits, value.signum() == 0 ? 0 : digits.length, digits.length - (long) value.scale());
+	}
+
+	/**
+	 * @param negative if the decimal is less than 0
+	 * @param digits ASCII digits, without leading zeros
+	 * @param significant the number of digits, or 0 if the decimal is 0
+	 * @param exponent of the decimal, 0.digits &times; 10^exponent
+	 * @return the key
+	 * @see #decimal(String)
+	 */
+	private static long[] decimal(final boolean negative, final char[] digits, int significant, final long exponent) {
+		while (significant > 0 && digits[significant - 1] == '0') {
+			significant--;
+		}
+		if (significant == 0)
+			return new long[] { 1L << 56 };
+		final int invert = negative ? 0xFF : 0;
+		final long biased = exponent + (1L << 39);
+		final int bytes = 6 + (significant + 1) / 2 + 1;
+		final long[] key = new long[(bytes + 7) / 8];
+		put(key, 0, negative ? 0 : 2);
+		for (int i = 0; i < 5; i++) {
+			put(key, 1 + i, (int) (biased >>> 8 * (4 - i)) & 0xFF ^ invert);
+		}
+		for (int i = 0; i < significant; i += 2) {
+			final int pair = (digits[i] - '0') * 10 + (i + 1 < significant ? digits[i + 1] - '0' : 0);
+			put(key, 6 + i / 2, pair + 1 ^ invert);
+		}
+		put(key, bytes - 1, invert);
+		return key;
+	}
+
+	/**
+	 * @param key bytes, packed in longs from the most significant byte
+	 * @param index of the byte
+	 * @param b the byte
+	 */
+	private static void put(final long[] key, final int index, final int b) {
+		key[index >> 3] |= (long) b << 8 * (7 - (index & 7));
+	}
+
+	/**
+	 * Compares keys of {@link #decimal(String)}, 8 bytes at a time. Keys
+	 * that are equal up to the end of either are the same length, as the
+	 * byte ending a key is never a byte of a digit pair.
+	 *
+	 * @param a a key
+	 * @param b a key
+	 * @return negative, zero, or positive, as the decimal of a is lower, the same as, or higher than that of b
+	 */
+	static int compareDecimals(final long[] a, final long[] b) {
+		final int length = Math.min(a.length, b.length);
+		for (int i = 0; i < length; i++) {
+			if (a[i] != b[i])
+				return Long.compareUnsigned(a[i], b[i]);
+		}
+		return a.length - b.length;
+	}
+
+	/**
+	 * @param s a decimal
+	 * @return true if s has only ASCII digits, no more than {@link #EXACT_DIGITS}
+	 *         significant digits, and a magnitude within 10^&plusmn;{@link #EXACT_EXPONENT}
+	 */
+	static boolean exact(final String s) {
+		final int length = s.length();
+		int i = 0;
+		if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			i++;
+		}
+		int digits = 0, significant = 0, point = -1, first = -1;
+		for (; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c == '.' && point == -1) {
+				point = digits;
+			} else if (c >= '0' && c <= '9') {
+				if (first == -1 && c != '0') {
+					first = digits;
+				}
+				if (first != -1) {
+					significant++;
+				}
+				digits++;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0 || significant > EXACT_DIGITS)
+			return false;
+		int exponent = 0;
+		if (i < length) {
+			if (s.charAt(i) != 'e' && s.charAt(i) != 'E')
+				return false;
+			i++;
+			final boolean negative = i < length && s.charAt(i) == '-';
+			if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+				i++;
+			}
+			if (i == length || length - i > 4)
+				return false;
+			for (; i < length; i++) {
+				final char c = s.charAt(i);
+				if (c < '0' || c > '9')
+					return false;
+				exponent = exponent * 10 + c - '0';
+			}
+			if (negative) {
+				exponent = -exponent;
+			}
+		}
+		if (first == -1)
+			// Zero
+			return true;
+		final int magnitude = (point == -1 ? digits : point) - first - 1 + exponent;
+		return magnitude >= -EXACT_EXPONENT && magnitude <= EXACT_EXPONENT;
+	}
+
+	/**
+	 * @param list sorted lines
+	 * @param fout file to write
+	 * @param reverse if the list should be written last to first
+	 * @throws IOException
+	 */
+	static void write(final List<String> list, final File fout, final boolean reverse) throws IOException {
+		try (final LineWriter out = new LineWriter(fout)) {
+			if (reverse) {
+				for (int i = list.size() - 1; i >= 0; i--) {
+					out.write(list.get(i));
+				}
+			} else {
+				for (final String line : list) {
+					out.write(line);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param parallel the help of -p, for how the tool sorts in parallel
+	 * @param flags the help of each flag only the tool accepts, in the same columns as the rest
+	 * @param select if the tool accepts --select and --percentile
+	 * @return the help of the tool
+	 */
+	static String help(final String parallel, final String flags, final boolean select) {
+		return "<HELP>\n\n"
+			+ "-h -H : display this help\n"
+			+ "-d -D :\n"
+			+ "-f -F :"
+				+ " parse following files as decimals aka floating point\n"
+			+ "-n -N :\n"
+			+ "-i -I :\n"
+			+ "-l -L :"
+				+ " parse following files as natural numbers, aka integer or longs\n"
+			+ "-s -S :"
+				+ " parse following files as plaintext, using Java's default comparator\n"
+			+ "-r -R :"
+				+ " toggles reversing how the following files are sorted\n"
+			+ "       "
+				+ " by default, the smallest possible elements will be first, and\n"
+			+ "       "
+				+ " strings starting with A before strings starting with Z, and\n"
+			+ "       "
+				+ " strings truncated before strings with more characters\n"
+			+ "-e -E :"
+				+ " sort following files externally, in chunks using the next parameter\n"
+			+ "       "
+				+ " as the memory in bytes (k, m, or g suffix allowed) for each chunk\n"
+			+ "       "
+				+ " sorted chunks are written beside the output, then merged\n"
+			+ "       "
+				+ " a size of 0 sorts following files entirely in memory\n"
+			+ "-m -M :"
+				+ " toggles memory-mapping the following files, sorting the position of each line\n"
+			+ "       "
+				+ " lines are not kept as strings, and are written as their original bytes\n"
+			+ "       "
+				+ " ignored when sorting externally\n"
+			+ "-p -P :"
+				+ parallel
+			+ "-k -K :"
+				+ " toggles sorting a primitive prefix of each number with its index\n"
+			+ "       "
+				+ " numbers are only compared in full when their prefixes are equal\n"
+			+ "       "
+				+ " plaintext is always sorted this way, except when sorting externally\n"
+			+ flags
+			+ (!select ? "" : ""
+			+ "--select :\n"
+			+ "       "
+				+ " write only the lines of following files at the next parameter\n"
+			+ "       "
+				+ " as comma-separated line numbers of the sorted file, from 1\n"
+			+ "       "
+				+ " a line number of 0 writes all lines, clearing any percentiles as well\n"
+			+ "--percentile :\n"
+			+ "       "
+				+ " write only the lines of following files at the next parameter\n"
+			+ "       "
+				+ " as comma-separated percentiles of the sorted file, like 50,99\n"
+			+ "       "
+				+ " with --select, the lines of both are written; --select 0 clears both\n"
+			+ "       "
+				+ " lines are selected without sorting the file, and written in sorted order\n"
+			)
+			+ "--stats :\n"
+			+ "       "
+				+ " toggles printing a line of JSON for each of the following files, with the time\n"
+			+ "       "
+				+ " to read, parse, sort, and write, comparisons of values, and peak heap\n"
+			+ "       "
+				+ " with -j, the peak heap is of every file, since the first file started\n"
+			+ "-j -J :"
+				+ " sort all files using a pool of the next parameter threads, one file each\n"
+			+ "       "
+				+ " the time to sort each file is displayed at the end; by default 0, in order\n"
+			+ "-b -B :"
+				+ " with -j, the memory in bytes (k, m, or g suffix allowed) for all files sorted at once\n"
+			+ "       "
+				+ " by default the maximum heap; files estimated to need it all are sorted alone\n"
+			+ "-  -- :"
+				+ " treat all following tokens as literal files\n"
+			+ "       "
+				+ " Note, this is always pointless, as files require extensions!\n"
+			+ "\n"
+			+ "Output files will always be named with `.out' prepending the file extension, like\n"
+			+ "in>   file.txt\n"
+			+ "out>  file.out.txt\n"
+			+ "\n"
+			+ "Example execution\n"
+			+ "params>   -s file.log     -n num1.txt     num2.data     -d num3.txt\n"
+			+ "out files>   file.out.log    num1.out.txt num2.out.data    num3.out.txt\n"
+			+ "sorted as>   strings         integers     integers         decimals\n"
+			+ "\n"
+			+ "Parsing files as plaintext is default behavior."
+			+ "";
+	}
+
+	/**
+	 * Parses the arguments of a tool, adding each file with the options
+	 * given before it. Flags of every tool are parsed here; any other
+	 * argument is given to the tool's flags, and is a file if not accepted.
+	 *
+	 * @param files where each file is added
+	 * @param help the help of the tool
+	 * @param flags the flags only the tool accepts
+	 * @param args the arguments of the tool
+	 */
+	void parse(final FilePool files, final String help, final Flags flags, final String...args) {
+		String token = null;
+		boolean literal = false;
+		for (final Iterator<String> it = Arrays.asList(args).iterator(); it.hasNext(); /* NOOP */) {
+			token = it.next();
+			if (!literal) {
+				if ("-".equals(token) || "--".equals(token)) {
+					literal = true;
+					continue;
+				}
+				if ("-h".equals(token) || "-H".equals(token)) {
+					this.log.info(help);
+					token = null;
+					continue;
+				}
+				final boolean parameter = it.hasNext();
+				if (parse(token, it, files) || flags.parse(token, it)) {
+					if (pooled(token) && parameter) {
+						// Applies to every file, so it is not dangling when last
+						token = null;
+					}
+					continue;
+				}
+			}
+			final File fin = new File(token);
+			token = null;
+			final Optional<File> fout = out(fin);
+			if (!fout.isPresent()) {
+				this.log.severe(String.format(
+					"`%s' is not a valid filename. Files must have a valid extension.",
+					fin
+					));
+				continue;
+			}
+			files.add(this, fin, fout.get());
+		}
+		if (token != null) {
+			warnDangling(token);
+		}
+	}
+
+	/**
+	 * @param flag an argument
+	 * @param args the remaining arguments, where the parameter of the flag is next
+	 * @param files the files to sort, for the flags of every file
+	 * @return false if the flag is not a flag of every tool
+	 */
+	boolean parse(final String flag, final Iterator<String> args, final FilePool files) {
+		switch (flag) {
+		case "-s": case "-S":
+			this.format = Format.STRING;
+			return true;
+		case "-i": case "-I":
+		case "-n": case "-N":
+		case "-l": case "-L":
+			this.format = Format.INTEGER;
+			return true;
+		case "-f": case "-F":
+		case "-d": case "-D":
+			this.format = Format.DECIMAL;
+			return true;
+		case "-r": case "-R":
+			this.reverse = !this.reverse;
+			return true;
+		case "-m": case "-M":
+			this.mapped = !this.mapped;
+			return true;
+		case "-p": case "-P":
+			this.parallel = !this.parallel;
+			return true;
+		case "-k": case "-K":
+			this.prefixed = !this.prefixed;
+			return true;
+		case "--stats":
+			this.stats = !this.stats;
+			return true;
+		case "-e": case "-E":
+			parameter(args, "`%s' is not a valid size", size -> this.external = parseSize(size));
+			return true;
+		case "-j": case "-J":
+			parameter(args, "`%s' is not a valid number of files", threads -> files.threads = parseCount(threads));
+			return true;
+		case "-b": case "-B":
+			parameter(args, "`%s' is not a valid size", budget -> files.budget = parseSize(budget));
+			return true;
+		case "--select":
+			if (this.selector == null)
+				return false;
+			parameter(args, "`%s' are not valid line numbers", lines -> {
+				if ("0".equals(lines)) {
+					this.select = null;
+					this.percentiles = null;
+				} else {
+					this.select = parseLines(lines);
+				}
+			});
+			return true;
+		case "--percentile":
+			if (this.selector == null)
+				return false;
+			parameter(args, "`%s' are not valid percentiles", percentiles -> this.percentiles = parsePercentiles(percentiles));
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @param flag an accepted flag
+	 * @return true if the flag sets how all files are sorted, not the following files
+	 */
+	static boolean pooled(final String flag) {
+		switch (flag) {
+		case "-j": case "-J":
+		case "-b": case "-B":
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Sets an option from the next argument. If there is none, the flag is
+	 * the last argument, and warned of as dangling.
+	 *
+	 * @param args the remaining arguments
+	 * @param invalid the message if the parameter is not valid, with the parameter
+	 * @param option sets the option
+	 */
+	void parameter(final Iterator<String> args, final String invalid, final Parameter option) {
+		if (!args.hasNext())
+			return;
+		final String parameter = args.next();
+		try {
+			option.set(parameter);
+		} catch (final IllegalArgumentException ex) {
+			this.log.log(
+				Level.SEVERE,
+				String.format(invalid, parameter),
+				ex
+				);
+		}
+	}
+
+	void warnDangling(final String token) {
+		this.log.warning(String.format(
+			"Dangling modifier! `%s'",
+			token
+			));
+	}
+
+	/**
+	 * @param fin file to read
+	 * @return the file to write, with `.out' before the extension, or empty if there is no extension
+	 */
+	static Optional<File> out(final File fin) {
+		final String inName = fin.getName();
+		final int period = inName.lastIndexOf('.');
+		if (period == -1)
+			return Optional.empty();
+		return Optional.of(new File(
+			fin.getParentFile(),
+			inName.substring(0, period) + ".out" + inName.substring(period)
+			));
+	}
+
+	/**
+	 * Parses a size in bytes, with an optional suffix of k, m, or g.
+	 *
+	 * @param size the size
+	 * @return the size in bytes
+	 * @throws NumberFormatException if not a valid size
+	 */
+	static long parseSize(final String size) throws NumberFormatException {
+		if (size.isEmpty())
+			throw new NumberFormatException("Empty size");
+		final int shift;
+		switch (size.charAt(size.length() - 1)) {
+		case 'k': case 'K':
+			shift = 10;
+			break;
+		case 'm': case 'M':
+			shift = 20;
+			break;
+		case 'g': case 'G':
+			shift = 30;
+			break;
+		default:
+			return Long.parseLong(size);
+		}
+		final long value = Long.parseLong(size.substring(0, size.length() - 1));
+		if (value < 0 || value > Long.MAX_VALUE >> shift)
+			throw new NumberFormatException(size + " is out of range");
+		return value << shift;
+	}
+
+	/**
+	 * @param lines comma-separated line numbers, from 1
+	 * @return the line numbers
+	 * @throws NumberFormatException if any is not a valid number, or less than 1
+	 */
+	static int[] parseLines(final String lines) throws NumberFormatException {
+		final int[] parsed = Arrays.stream(lines.split(",", -1)).mapToInt(FileSort::parseCount).toArray();
+		for (final int line : parsed) {
+			if (line == 0)
+				throw new NumberFormatException(lines + " contains 0");
+		}
+		return parsed;
+	}
+
+	/**
+	 * @param percentiles comma-separated percentiles, from 0 to 100
+	 * @return the percentiles
+	 * @throws NumberFormatException if any is not a valid number, or out of range
+	 */
+	static double[] parsePercentiles(final String percentiles) throws NumberFormatException {
+		final double[] parsed = Arrays.stream(percentiles.split(",", -1)).mapToDouble(Double::parseDouble).toArray();
+		for (final double p : parsed) {
+			if (!(p >= 0 && p <= 100))
+				throw new NumberFormatException(percentiles + " is out of range");
+		}
+		return parsed;
+	}
+
+	/**
+	 * @param count a number of lines
+	 * @return the number
+	 * @throws NumberFormatException if not a valid number, or negative
+	 */
+	static int parseCount(final String count) throws NumberFormatException {
+		final int value = Integer.parseInt(count);
+		if (value < 0)
+			throw new NumberFormatException(count + " is negative");
+		return value;
+	}
+}
@@ -21,64 +21,74 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.UncheckedIOException;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.Optional;
-import java.util.function.Function;
-import java.util.logging.Level;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
 
 public class Heapsort {
 	static final Logger log = Logger.getLogger(Heapsort.class.getName());
-	static final String HELP = "<HELP>\n\n"
-		+ "-h -H : display this help\n"
-		+ "-d -D :\n"
-		+ "-f -F :"
-			+ " parse following files as decimals aka floating point\n"
-		+ "-n -N :\n"
-		+ "-i -I :\n"
-		+ "-l -L :"
-			+ " parse following files as natural numbers, aka integer or longs\n"
-		+ "-s -S :"
-			+ " parse following files as plaintext, using Java's default comparator\n"
-		+ "-r -R :"
-			+ " toggles reversing how the following files are sorted\n"
+	static final String HELP = FileSort.help(""
+			+ " toggles reading the following files in chunks, parsed using all processors\n"
+		+ "       "
+			+ " the heap itself is sorted on one processor\n"
+		, ""
+		+ "-a -A :"
+			+ " sort following files with a heap of the next parameter children for each element\n"
 		+ "       "
-			+ " by default, the smallest possible elements will be first, and\n"
+			+ " by default 2; wider heaps like 4 or 8 are shallower, with fewer cache misses\n"
+		+ "-t -T :\n"
+		+ "--top :\n"
 		+ "       "
-			+ " strings starting with A before strings starting with Z, and\n"
+			+ " write only the first lines of following files, using the next parameter\n"
 		+ "       "
-			+ " strings truncated before strings with more characters\n"
-		+ "-  -- :"
-			+ " treat all following tokens as literal files\n"
+			+ " as the number of lines; the file is streamed through a heap of that size\n"
 		+ "       "
-			+ " Note, this is always pointless, as files require extensions!\n"
-		+ "\n"
-		+ "Output files will always be named with `.out' prepending the file extension, like\n"
-		+ "in>   file.txt\n"
-		+ "out>  file.out.txt\n"
-		+ "\n"
-		+ "Example execution\n"
-		+ "params>   -s file.log     -n num1.txt     num2.data     -d num3.txt\n"
-		+ "out files>   file.out.log    num1.out.txt num2.out.data    num3.out.txt\n"
-		+ "sorted as>   strings         integers     integers         decimals\n"
-		+ "\n"
-		+ "Parsing files as plaintext is default behavior."
-		+ "";
+			+ " a number of 0 writes all lines\n"
+		, false);
+
+	/**
+	 * Heapsort with a heap of a specified arity, as an algorithm for each
+	 * kind of sort in {@link FileSort}. Wider heaps have fewer levels, and
+	 * the children of each element are adjacent, at the cost of more
+	 * comparisons for each level.
+	 */
+	static final class DaryHeap implements FileSort.Sorter, FileSort.LongSorter, FileSort.PrefixSorter {
+		final int arity;
+
+		/**
+		 * @param arity children of each element
+		 * @throws IllegalArgumentException if arity &lt; 2
+		 */
+		DaryHeap(final int arity) throws IllegalArgumentException {
+			if (arity < 2)
+				throw new IllegalArgumentException(arity + " < 2");
+			this.arity = arity;
+		}
+
+		@Override
+		public <T> void sort(final List<T> l, final Comparator<? super T> c) {
+			heapsort(this.arity, l, c);
+		}
+
+		@Override
+		public void sort(final long[] keys, final int[] perm) {
+			heapsort(this.arity, 0, keys.length, keys, perm, NO_TIES);
+		}
+
+		@Override
+		public void sort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+			heapsort(this.arity, 0, prefixes.length, prefixes, perm, ties);
+		}
+	}
+
+	/**
+	 * Ties for keys that are the entire value
+	 */
+	static final IntBinaryOperator NO_TIES = (a, b) -> 0;
 
 	/**
 	 * Sort list in-place using two-step heapify-dequeue.
@@ -86,18 +96,25 @@ public class Heapsort {
 	 * @param list
 	 */
 	static <T> void heapsort(final List<T> l, final Comparator<? super T> c) {
+		heapsort(2, l, c);
+	}
+
+	/**
+	 * Sort list in-place using two-step heapify-dequeue, with a heap of
+	 * the specified arity.
+	 *
+	 * @param arity children of each element
+	 * @param l
+	 * @param c
+	 */
+	static <T> void heapsort(final int arity, final List<T> l, final Comparator<? super T> c) {
 		if (l.size() < 2)
 			return;
-		heapify(l, c);
+		heapify(arity, l, c);
 		for (int i = l.size() - 1; i > 0; i--) {
 			// Position our maximal element after the heap
-			// Take last element and position at root for fixing
-			swap(0, i, l);
-			final int lastInHeap = i - 1;
-			int pos = 0;
-			// Continue fixing downward until no motion
-			// A node with no leaves cannot move
-			while (pos != (pos = fixDown(pos, lastInHeap, l, c)));
+			// Take last element, and sift it down from the hole left at root
+			siftDown(arity, 0, i, l.set(i, l.get(0)), l, c);
 		}
 	}
 
@@ -109,15 +126,103 @@ public class Heapsort {
 	 * @param c
 	 */
 	static <T> void heapify(final List<T> l, final Comparator<? super T> c) {
+		heapify(2, l, c);
+	}
+
+	/**
+	 * @param arity children of each element
+	 * @see #heapify(List, Comparator)
+	 */
+	static <T> void heapify(final int arity, final List<T> l, final Comparator<? super T> c) {
 		if (l.size() < 2)
 			return;
-		// We start with an implicit heap of size 1
-		// We then act as if each successive element has been added to list
-		for (int i = 1; i < l.size(); i++) {
-			int pos = i;
-			// Continue fixing upward until no motion, or root
-			while (pos != (pos = fixUp(pos, l, c)) && pos != 0);
+		// Floyd's construction, in O(n)
+		// Leaves are already heaps, and each parent from the last
+		// is sifted down to join the heaps below it
+		for (int i = parent(l.size() - 1, arity); i >= 0; i--) {
+			siftDown(arity, i, l.size(), l.get(i), l, c);
+		}
+	}
+
+	/**
+	 * Places an element in the heap below root, where root is a hole.
+	 * Bottom-up (Wegener): the hole is first moved down to a leaf, following
+	 * the largest child with arity - 1 comparisons for each level, then the
+	 * element climbs back up from the leaf, which is rarely more than a level
+	 * or two. Elements are moved into the hole, instead of swapped.
+	 *
+	 * @param arity children of each element
+	 * @param root index of the hole
+	 * @param size elements in the heap
+	 * @param o the element to place
+	 * @param l
+	 * @param c
+	 */
+	static <T> void siftDown(final int arity, final int root, final int size, final T o, final List<T> l, final Comparator<? super T> c) {
+		int hole = root;
+		for (int next; (next = child(hole, arity)) < size; hole = next) {
+			T largest = l.get(next);
+			for (int i = next + 1, last = Math.min(next + arity, size); i < last; i++) {
+				final T sibling = l.get(i);
+				if (c.compare(sibling, largest) > 0) {
+					largest = sibling;
+					next = i;
+				}
+			}
+			l.set(hole, largest);
+		}
+		for (int p; hole != root && c.compare(o, l.get(p = parent(hole, arity))) > 0; hole = p) {
+			l.set(hole, l.get(p));
+		}
+		l.set(hole, o);
+	}
+
+	/**
+	 * Writes only the first lines of a sorted file, without reading the whole
+	 * file into memory. Lines are streamed through a maximum heap of at most
+	 * count lines, such that the root is the last line to keep. Each line
+	 * before the root replaces it, and is sifted down. The kept lines are then
+	 * heapsorted in place, in O(n log count) time overall.
+	 *
+	 * Lines are parsed as they are read, so reading and parsing end together.
+	 *
+	 * @param fin file to read
+	 * @param fout file to write
+	 * @param format how to parse lines
+	 * @param order how to compare lines, with the first to keep as the smallest
+	 * @param count lines to keep
+	 * @param end called as each phase ends
+	 * @return the number of lines read
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed, with its line number
+	 */
+	static <T> long top(final File fin, final File fout, final FileSort.Format<T> format, final Comparator<Entry<T, String>> order, final int count, final Consumer<SortStats.Phase> end) throws IOException, NumberFormatException {
+		long lines = 0;
+		final List<Entry<T, String>> heap = new ArrayList<>(Math.min(count, 1 << 16));
+		try (final BufferedReader in = new BufferedReader(new FileReader(fin))) {
+			for (String line; (line = in.readLine()) != null;) {
+				final Entry<T, String> tuple;
+				try {
+					tuple = format.tuple(line);
+				} catch (final NumberFormatException ex) {
+					throw FileSort.invalid(lines + 1, ex);
+				}
+				lines++;
+				if (heap.size() < count) {
+					heap.add(tuple);
+					int pos = heap.size() - 1;
+					while (pos > 0 && pos != (pos = fixUp(pos, heap, order)));
+				} else if (order.compare(tuple, heap.get(0)) < 0) {
+					siftDown(2, 0, count, tuple, heap, order);
+				}
+			}
 		}
+		end.accept(SortStats.Phase.READ);
+		heapsort(heap, order);
+		end.accept(SortStats.Phase.SORT);
+		ExternalSort.write(heap, fout);
+		end.accept(SortStats.Phase.WRITE);
+		return lines;
 	}
 
 	/**
@@ -220,177 +325,150 @@ public class Heapsort {
 		return i * 2 + 1;
 	}
 
-	static <T> void swap(final int i, final int j, final List<T> l) {
-		l.set(j, l.set(i, l.get(j)));
-	}
-
-	static Optional<List<Entry<String, String>>> stringPerform(final File fin) {
-		return performTuple(fin, String::compareTo, Object::toString);
+	/**
+	 * @param i
+	 * @param arity children of each element
+	 * @return index of the parent
+	 */
+	static int parent(final int i, final int arity) {
+		return (i - 1) / arity;
 	}
 
-	static Optional<List<Entry<BigInteger, String>>> integerPerform(final File fin) {
-		return performTuple(fin, BigInteger::compareTo, BigInteger::new);
+	/**
+	 * @param i
+	 * @param arity children of each element
+	 * @return index of the first child
+	 */
+	static int child(final int i, final int arity) {
+		return i * arity + 1;
 	}
 
-	static Optional<List<Entry<BigDecimal, String>>> floatPerform(final File fin) {
-		return performTuple(fin, BigDecimal::compareTo, BigDecimal::new);
+	static <T> void swap(final int i, final int j, final List<T> l) {
+		l.set(j, l.set(i, l.get(j)));
 	}
 
 	/**
-	 * Wrap tuples around parsed object and original data.
-	 * Comparators only work on parsed object, but we write the original back out.
+	 * Sort keys in-place, the same as {@link #heapsort(List, Comparator)},
+	 * moving each element of perm with its key.
 	 *
-	 * @param fin
-	 * @param comparator
-	 * @param mapper
-	 * @return
+	 * @param keys
+	 * @param perm indices of the lines for each key
 	 */
-	static <T> Optional<List<Entry<T, String>>> performTuple(final File fin, final Comparator<? super T> comparator, final Function<? super String, ? extends T> mapper) {
-		return perform(fin, Entry.comparingByKey(comparator), (s) -> tuple(mapper.apply(s), s));
+	static void heapsort(final long[] keys, final int[] perm) {
+		heapsort(0, keys.length, keys, perm);
 	}
 
-	static <L, R> Entry<L, R> tuple(final L l, final R r) {
-		return new SimpleEntry<>(l, r);
+	/**
+	 * Sort the specified sub-list of keys in-place.
+	 * Indices within the heap are relative to from.
+	 *
+	 * @param from inclusive
+	 * @param to exclusive
+	 * @param keys
+	 * @param perm
+	 */
+	static void heapsort(final int from, final int to, final long[] keys, final int[] perm) {
+		heapsort(2, from, to, keys, perm, NO_TIES);
 	}
 
 	/**
-	 * Read file, transform lines, sort (heapsort), and return resulting data.
+	 * Sort the specified sub-list of keys in-place, with a heap of the
+	 * specified arity. Keys may be a prefix of each value, where equal keys
+	 * are compared by their elements of perm.
+	 * Indices within the heap are relative to from.
 	 *
-	 * @param fin file to read
-	 * @param comparator sorting descriminator
-	 * @param mapper transformer
-	 * @return resulting data
+	 * @param arity children of each element
+	 * @param from inclusive
+	 * @param to exclusive
+	 * @param keys
+	 * @param perm
+	 * @param ties compares elements of perm, when their keys are equal
 	 */
-	static <T> Optional<List<T>> perform(final File fin, final Comparator<? super T> comparator, final Function<? super String, ? extends T> mapper) {
-		if (!(fin.exists() && fin.canRead())) {
-			log.severe(String.format(
-				"`%s' points to `%s', but cannot be read as a file",
-				fin, fin.getAbsolutePath()
-				));
-			return empty();
+	static void heapsort(final int arity, final int from, final int to, final long[] keys, final int[] perm, final IntBinaryOperator ties) {
+		final int size = to - from;
+		if (size < 2)
+			return;
+		for (int i = parent(size - 1, arity); i >= 0; i--) {
+			siftDown(arity, from, i, size, keys[from + i], perm[from + i], keys, perm, ties);
 		}
-		final List<T> read;
-		try (final BufferedReader in = new BufferedReader(new FileReader(fin))) {
-			read = new ArrayList<> /* I need to confirm mutability */(in
-				.lines()
-				.map(mapper)
-				.collect(Collectors.toList())
-				);
-		} catch (final NumberFormatException ex) {
-			log.log(
-				Level.SEVERE,
-				String.format("%s contains invalid data", fin),
-				ex
-				);
-			return empty();
-		} catch (final UncheckedIOException | IOException ex) {
-			log.log(
-				Level.SEVERE,
-				String.format("Could not read from %s", fin.getAbsolutePath()),
-				ex
-				);
-			return empty();
+		for (int i = size - 1; i > 0; i--) {
+			final long key = keys[from + i];
+			final int index = perm[from + i];
+			keys[from + i] = keys[from];
+			perm[from + i] = perm[from];
+			siftDown(arity, from, 0, i, key, index, keys, perm, ties);
 		}
-		heapsort(read, comparator);
-		return of(read);
 	}
 
-	public static void main(String... args) {
-		if (args.length == 0) {
-			log.warning("No arguments specified");
-			return;
-		}
-		boolean reverse = false;
-		String token = null;
-		Function<File, Optional<? extends List<? extends Entry<?, String>>>> performer;
-		performer = Heapsort::stringPerform; // Default to strings
-		for (final Iterator<String> it = Arrays.asList(args).iterator(); it.hasNext(); /* NOOP */) {
-			final File fin;
-			if (!("--".equals(token) || "-".equals(token))) {
-				token = it.next();
-				switch (token) {
-				case "-s": case "-S":
-					performer = Heapsort::stringPerform;
-					continue;
-				case "-i": case "-I":
-				case "-n": case "-N":
-				case "-l": case "-L":
-					performer = Heapsort::integerPerform;
-					continue;
-				case "-f": case "-F":
-				case "-d": case "-D":
-					performer = Heapsort::floatPerform;
-					continue;
-				case "-r": case "-R":
-					reverse = !reverse;
-					continue;
-				case "-": case "--":
-					if (!it.hasNext()) {
-						warnDangling(token);
-					}
-					continue;
-				case "-h": case "-H":
-					log.info(HELP);
-					token = null;
-					continue;
-				default:
-					fin = new File(token);
-					token = null;
+	/**
+	 * @param arity children of each element
+	 * @param from index of the root of the heap
+	 * @param root index of the hole, relative to from
+	 * @param size elements in the heap
+	 * @param key the key to place
+	 * @param index the element of perm for key
+	 * @param ties compares elements of perm, when their keys are equal
+	 * @see #siftDown(int, int, int, Object, List, Comparator)
+	 */
+	static void siftDown(final int arity, final int from, final int root, final int size, final long key, final int index, final long[] keys, final int[] perm, final IntBinaryOperator ties) {
+		int hole = root;
+		for (int next; (next = child(hole, arity)) < size; hole = next) {
+			long largest = keys[from + next];
+			for (int i = next + 1, last = Math.min(next + arity, size); i < last; i++) {
+				final long sibling = keys[from + i];
+				if (sibling > largest || sibling == largest && ties.applyAsInt(perm[from + i], perm[from + next]) > 0) {
+					largest = sibling;
+					next = i;
 				}
-			} else {
-				fin = new File(it.next());
-			}
-			final Optional<File> fout = makeOut(fin);
-			if (!fout.isPresent()) {
-				log.severe(String.format(
-					"`%s' is not a valid filename. Files must have a valid extension.",
-					token
-					));
-				continue;
-			}
-
-			final Optional<? extends List<? extends Entry<?, String>>> sorted = performer.apply(fin);
-			if (!sorted.isPresent())
-				continue;
-
-			try (final PrintWriter out = new PrintWriter(fout.get())) {
-				final List<? extends Entry<?, String>> list = sorted.get();
-				(reverse
-					? IntStream.range(1 - list.size(), 1)
-					: IntStream.range(0, list.size())
-					)
-					.map(Math::abs)
-					.<Entry<?, String>>mapToObj(list::get)
-					.map(Entry::getValue)
-					.forEach(out::println);
-			} catch (IOException ex) {
-				log.log(
-					Level.SEVERE,
-					String.format("Could not write to %s", fout.get().getAbsolutePath()),
-					ex
-					);
 			}
+			keys[from + hole] = largest;
+			perm[from + hole] = perm[from + next];
 		}
-		if (!("--".equals(token) || "-".equals(token) || token == null)) {
-			warnDangling(token);
+		for (int p; hole != root; hole = p) {
+			final long parent = keys[from + (p = parent(hole, arity))];
+			if (key < parent || key == parent && ties.applyAsInt(index, perm[from + p]) <= 0)
+				break;
+			keys[from + hole] = parent;
+			perm[from + hole] = perm[from + p];
 		}
+		keys[from + hole] = key;
+		perm[from + hole] = index;
 	}
 
-	static void warnDangling(String token) {
-		log.warning(String.format(
-			"Dangling modifier! `%s'",
-			token
-			));
+	static void swap(final int i, final int j, final long[] keys, final int[] perm) {
+		final long key = keys[i];
+		keys[i] = keys[j];
+		keys[j] = key;
+		final int index = perm[i];
+		perm[i] = perm[j];
+		perm[j] = index;
 	}
 
-	private static Optional<File> makeOut(File fin) {
-		final String inName = fin.getName();
-		final int period = inName.lastIndexOf('.');
-		if (period == -1)
-			return empty();
-		return of(new File(
-			fin.getParentFile(),
-			inName.substring(0, period) + ".out" + inName.substring(period)
-			));
+	public static void main(String... args) {
+		if (args.length == 0) {
+			log.warning("No arguments specified");
+			return;
+		}
+		final FileSort options = new FileSort(log, Heapsort::heapsort, Heapsort::heapsort);
+		options.prefixSorter = new DaryHeap(2);
+		final FilePool files = new FilePool(log);
+		options.parse(files, HELP, (flag, it) -> {
+			switch (flag) {
+			case "-a": case "-A":
+				options.parameter(it, "`%s' is not a valid arity", arity -> {
+					final DaryHeap heap = new DaryHeap(Integer.parseInt(arity));
+					options.sorter = heap;
+					options.longSorter = heap;
+					options.prefixSorter = heap;
+				});
+				return true;
+			case "-t": case "-T": case "--top":
+				options.parameter(it, "`%s' is not a valid number of lines", count -> options.top = FileSort.parseCount(count));
+				return true;
+			default:
+				return false;
+			}
+		}, args);
+		files.run();
 	}
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The lines of a file, parsed concurrently. The file is read in chunks of
+ * bytes, cut after the last line terminator, and each chunk is decoded and
+ * parsed by a task while the next is read.
+ * Line terminators are the same as {@link java.io.BufferedReader#readLine()}.
+ *
+ * @param <T> the parsed type
+ */
+final class LineChunks<T> {
+	/**
+	 * Bytes read for each chunk, unless a line is longer
+	 */
+	static final int CHUNK = 1 << 20;
+	/**
+	 * Invalid lines reported for each file; one for each chunk at most
+	 */
+	static final int ERRORS = 10;
+
+	/**
+	 * The lines of a chunk, decoded and parsed by a task.
+	 */
+	static final class Chunk<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final FileSort.Format<T> format;
+		final Charset charset;
+		/**
+		 * The bytes of whole lines, released once decoded
+		 */
+		byte[] bytes;
+		final int length;
+		String[] lines;
+		/**
+		 * The primitive key of each line, or null if a line does not have one
+		 */
+		long[] keys;
+		/**
+		 * Each line parsed, or null if not yet parsed
+		 */
+		Object[] values;
+		/**
+		 * The first invalid line, from 0 in the chunk, or null if none
+		 */
+		NumberFormatException error;
+		int errorLine;
+
+		Chunk(final byte[] bytes, final int length, final FileSort.Format<T> format, final Charset charset) {
+			this.bytes = bytes;
+			this.length = length;
+			this.format = format;
+			this.charset = charset;
+		}
+
+		@Override
+		protected void compute() {
+			this.lines = split(this.bytes, this.length, this.charset);
+			this.bytes = null;
+			final FileSort.KeyParser key = this.format.key;
+			if (key == null) {
+				if (this.format != FileSort.Format.STRING) {
+					parse();
+				}
+				return;
+			}
+			final long[] keys = new long[this.lines.length];
+			int i = 0;
+			try {
+				for (; i < keys.length; i++) {
+					keys[i] = key.parse(this.lines[i]);
+				}
+				this.keys = keys;
+			} catch (final ArithmeticException ex) {
+				parse();
+			} catch (final NumberFormatException ex) {
+				this.error = ex;
+				this.errorLine = i;
+			}
+		}
+
+		/**
+		 * Parses each line, stopping at the first invalid line.
+		 */
+		void parse() {
+			final Object[] values = new Object[this.lines.length];
+			int i = 0;
+			try {
+				for (; i < values.length; i++) {
+					values[i] = this.format.parser.apply(this.lines[i]);
+				}
+				this.values = values;
+			} catch (final NumberFormatException ex) {
+				this.error = ex;
+				this.errorLine = i;
+			}
+		}
+	}
+
+	/**
+	 * Each line of the file
+	 */
+	final List<String> lines;
+	/**
+	 * The primitive key of each line, or null if a line does not have one
+	 */
+	final long[] keys;
+	/**
+	 * Each line parsed, or null if there are primitive keys or the lines are plaintext
+	 */
+	final List<T> values;
+
+	private LineChunks(final List<String> lines, final long[] keys, final List<T> values) {
+		this.lines = lines;
+		this.keys = keys;
+		this.values = values;
+	}
+
+	/**
+	 * Reads the file on this thread, while each chunk is parsed on the
+	 * common pool. When every chunk is parsed, the lines, and their keys or
+	 * values, are copied into arrays of the size of the file.
+	 *
+	 * @param fin file to read
+	 * @param format how to parse lines
+	 * @param charset the encoding of the file, where bytes under 0x80 are always a whole character
+	 * @return the lines of the file
+	 * @throws IOException
+	 * @throws NumberFormatException if a line cannot be parsed, with the line number of the first
+	 *         invalid line, and of others suppressed
+	 */
+	static <T> LineChunks<T> read(final File fin, final FileSort.Format<T> format, final Charset charset) throws IOException, NumberFormatException {
+		final ForkJoinPool pool = ForkJoinPool.commonPool();
+		final List<Chunk<T>> chunks = new ArrayList<>();
+		try (final InputStream in = new FileInputStream(fin)) {
+			byte[] buffer = new byte[CHUNK];
+			int length = 0;
+			for (int read; (read = in.read(buffer, length, buffer.length - length)) >= 0;) {
+				if ((length += read) < buffer.length)
+					continue;
+				final int end = end(buffer, length);
+				if (end == 0) {
+					// A line longer than the buffer
+					buffer = Arrays.copyOf(buffer, buffer.length << 1);
+					continue;
+				}
+				final byte[] next = new byte[Math.max(CHUNK, (length - end) << 1)];
+				System.arraycopy(buffer, end, next, 0, length - end);
+				chunks.add(submit(pool, new Chunk<>(buffer, end, format, charset)));
+				buffer = next;
+				length -= end;
+			}
+			if (length > 0) {
+				chunks.add(submit(pool, new Chunk<>(buffer, length, format, charset)));
+			}
+		}
+
+		int size = 0;
+		boolean keyed = format.key != null;
+		for (final Chunk<T> chunk : chunks) {
+			chunk.join();
+			size += chunk.lines.length;
+			keyed &= chunk.keys != null || chunk.error != null;
+		}
+		if (format.key != null && !keyed) {
+			// A line did not have a key, so every chunk is parsed
+			final List<ForkJoinTask<?>> parses = new ArrayList<>();
+			for (final Chunk<T> chunk : chunks) {
+				if (chunk.keys != null) {
+					chunk.keys = null;
+					parses.add(pool.submit(ForkJoinTask.adapt(chunk::parse)));
+				}
+			}
+			parses.forEach(ForkJoinTask::join);
+		}
+		check(chunks);
+
+		final String[] lines = new String[size];
+		final long[] keys = keyed ? new long[size] : null;
+		final Object[] values = keyed || format == FileSort.Format.STRING ? null : new Object[size];
+		int offset = 0;
+		for (final Chunk<T> chunk : chunks) {
+			final int count = chunk.lines.length;
+			System.arraycopy(chunk.lines, 0, lines, offset, count);
+			if (keys != null) {
+				System.arraycopy(chunk.keys, 0, keys, offset, count);
+			}
+			if (values != null) {
+				System.arraycopy(chunk.values, 0, values, offset, count);
+			}
+			offset += count;
+		}
+		@SuppressWarnings("unchecked")
+		final List<T> parsed = values == null ? null : (List<T>) Arrays.asList(values);
+		return new LineChunks<>(Arrays.asList(lines), keys, parsed);
+	}
+
+	private static <T> Chunk<T> submit(final ForkJoinPool pool, final Chunk<T> chunk) {
+		pool.execute(chunk);
+		return chunk;
+	}
+
+	/**
+	 * @param chunks every chunk, parsed
+	 * @throws NumberFormatException for the first invalid line, with the line number from 1
+	 */
+	private static void check(final List<? extends Chunk<?>> chunks) throws NumberFormatException {
+		NumberFormatException error = null;
+		int line = 0;
+		int errors = 0;
+		for (final Chunk<?> chunk : chunks) {
+			if (chunk.error != null && errors++ < ERRORS) {
+				final NumberFormatException invalid = FileSort.invalid(line + chunk.errorLine + 1, chunk.error);
+				if (error == null) {
+					error = invalid;
+				} else {
+					error.addSuppressed(invalid);
+				}
+			}
+			line += chunk.lines.length;
+		}
+		if (error != null)
+			throw error;
+	}
+
+	/**
+	 * A \r at the end may be followed by \n in the next chunk, so it does
+	 * not end a line.
+	 *
+	 * @param bytes
+	 * @param length bytes read
+	 * @return the index after the last line terminator, or 0 if there is none
+	 */
+	static int end(final byte[] bytes, final int length) {
+		for (int i = length - 1; i >= 0; i--) {
+			if (bytes[i] == '\n' || (bytes[i] == '\r' && i + 1 < length))
+				return i + 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * @param bytes whole lines, the last of which may be without a terminator
+	 * @param length bytes to split
+	 * @param charset the encoding of the bytes
+	 * @return each line, decoded
+	 */
+	static String[] split(final byte[] bytes, final int length, final Charset charset) {
+		int count = 0;
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			final byte b = bytes[i];
+			if (b != '\n' && b != '\r')
+				continue;
+			count++;
+			if (b == '\r' && i + 1 < length && bytes[i + 1] == '\n') {
+				i++;
+			}
+			start = i + 1;
+		}
+		final String[] lines = new String[start == length ? count : count + 1];
+		count = 0;
+		start = 0;
+		for (int i = 0; i < length; i++) {
+			final byte b = bytes[i];
+			if (b != '\n' && b != '\r')
+				continue;
+			lines[count++] = new String(bytes, start, i - start, charset);
+			if (b == '\r' && i + 1 < length && bytes[i + 1] == '\n') {
+				i++;
+			}
+			start = i + 1;
+		}
+		if (start != length) {
+			// Final line without terminator
+			lines[count] = new String(bytes, start, length - start, charset);
+		}
+		return lines;
+	}
+}
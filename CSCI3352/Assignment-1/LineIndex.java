@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The lines of a memory-mapped file. Only the position and length of each
+ * line is kept; lines are decoded only when requested.
+ * Line terminators are the same as {@link java.io.BufferedReader#readLine()}.
+ */
+final class LineIndex {
+	/**
+	 * Largest size of each mapping; lines may not be longer
+	 */
+	static final int SEGMENT = 1 << 30;
+
+	/**
+	 * A list of indices, backed by an int array, for sorting lines by index.
+	 */
+	static final class Indices extends AbstractList<Integer> implements RandomAccess {
+		final int[] array;
+
+		/**
+		 * @param size the number of indices, initially in order
+		 */
+		Indices(final int size) {
+			this.array = new int[size];
+			for (int i = 0; i < size; i++) {
+				this.array[i] = i;
+			}
+		}
+
+		/**
+		 * @param array the indices, not copied
+		 */
+		Indices(final int[] array) {
+			this.array = array;
+		}
+
+		@Override
+		public Integer get(final int index) {
+			return this.array[index];
+		}
+
+		@Override
+		public Integer set(final int index, final Integer element) {
+			final int old = this.array[index];
+			this.array[index] = element;
+			return old;
+		}
+
+		@Override
+		public int size() {
+			return this.array.length;
+		}
+	}
+
+	final MappedByteBuffer[] segments;
+	/**
+	 * Segment of each line in the upper 32 bits, with the offset in that segment in the lower
+	 */
+	final long[] positions;
+	/**
+	 * Length of each line in bytes, without its terminator
+	 */
+	final int[] lengths;
+	final int size;
+	final Charset charset;
+	/**
+	 * Bytes under 0x80 are always a whole character, and order the same as the character
+	 */
+	final boolean ascii;
+
+	private LineIndex(final MappedByteBuffer[] segments, final long[] positions, final int[] lengths, final int size, final Charset charset) {
+		this.segments = segments;
+		this.positions = positions;
+		this.lengths = lengths;
+		this.size = size;
+		this.charset = charset;
+		this.ascii = ascii(charset);
+	}
+
+	/**
+	 * @param charset an encoding
+	 * @return true if bytes under 0x80 are always a whole character, and order the same as the character
+	 */
+	static boolean ascii(final Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8)
+			|| charset.equals(StandardCharsets.US_ASCII)
+			|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Maps the file, and finds the start of each line.
+	 *
+	 * @param fin file to map
+	 * @param charset the encoding of the file
+	 * @return the lines of the file
+	 * @throws IOException if the file cannot be mapped, or contains a line longer than {@link #SEGMENT}
+	 */
+	static LineIndex map(final File fin, final Charset charset) throws IOException {
+		final List<MappedByteBuffer> segments = new ArrayList<>();
+		long[] positions = new long[1024];
+		int[] lengths = new int[1024];
+		int size = 0;
+		try (final RandomAccessFile file = new RandomAccessFile(fin, "r")) {
+			final FileChannel channel = file.getChannel();
+			final long length = channel.size();
+			long base = 0;
+			while (base < length) {
+				final int mapped = (int) Math.min(SEGMENT, length - base);
+				final boolean last = base + mapped == length;
+				final MappedByteBuffer segment = channel.map(MapMode.READ_ONLY, base, mapped);
+				final long segmentIndex = (long) segments.size() << 32;
+				int start = 0;
+				for (int i = 0; i < mapped; i++) {
+					final byte b = segment.get(i);
+					if (b != '\n' && b != '\r')
+						continue;
+					if (b == '\r' && i + 1 == mapped && !last)
+						// Could be \r\n across segments
+						break;
+					if (size == positions.length) {
+						positions = Arrays.copyOf(positions, size + (size >> 1));
+						lengths = Arrays.copyOf(lengths, positions.length);
+					}
+					positions[size] = segmentIndex | start;
+					lengths[size++] = i - start;
+					if (b == '\r' && i + 1 < mapped && segment.get(i + 1) == '\n') {
+						i++;
+					}
+					start = i + 1;
+				}
+				if (last) {
+					if (start != mapped) {
+						// Final line without terminator
+						if (size == positions.length) {
+							positions = Arrays.copyOf(positions, size + 1);
+							lengths = Arrays.copyOf(lengths, size + 1);
+						}
+						positions[size] = segmentIndex | start;
+						lengths[size++] = mapped - start;
+					}
+				} else if (start == 0) {
+					throw new IOException(String.format("%s has a line longer than %s bytes", fin, SEGMENT));
+				}
+				segments.add(segment);
+				base += last ? mapped : start;
+			}
+		}
+		return new LineIndex(segments.toArray(new MappedByteBuffer[segments.size()]), positions, lengths, size, charset);
+	}
+
+	ByteBuffer segment(final int line) {
+		return this.segments[(int) (this.positions[line] >>> 32)];
+	}
+
+	int offset(final int line) {
+		return (int) this.positions[line];
+	}
+
+	/**
+	 * @param line index of the line
+	 * @return the decoded line
+	 */
+	String line(final int line) {
+		final ByteBuffer bytes = segment(line).duplicate();
+		final int offset = offset(line);
+		bytes.limit(offset + this.lengths[line]).position(offset);
+		return this.charset.decode(bytes).toString();
+	}
+
+	/**
+	 * Compares lines the same as {@link String#compareTo(String)} for the
+	 * decoded lines. Bytes are compared directly, 8 at a time, and only when
+	 * the first different byte is not ASCII are the lines decoded.
+	 *
+	 * @param a index of a line
+	 * @param b index of a line
+	 * @return negative, zero, or positive, as line a is before, the same as, or after line b
+	 */
+	int compare(final int a, final int b) {
+		if (!this.ascii)
+			return line(a).compareTo(line(b));
+		final ByteBuffer aBytes = segment(a), bBytes = segment(b);
+		final int aOffset = offset(a), bOffset = offset(b);
+		final int aLength = this.lengths[a], bLength = this.lengths[b];
+		final int length = Math.min(aLength, bLength);
+		int i = 0;
+		for (; i + 8 <= length; i += 8) {
+			final long aWord = aBytes.getLong(aOffset + i), bWord = bBytes.getLong(bOffset + i);
+			if (aWord != bWord) {
+				// Big-endian, so the first different byte has the highest different bit
+				i += Long.numberOfLeadingZeros(aWord ^ bWord) >> 3;
+				break;
+			}
+		}
+		for (; i < length; i++) {
+			final int aByte = aBytes.get(aOffset + i) & 0xFF, bByte = bBytes.get(bOffset + i) & 0xFF;
+			if (aByte == bByte)
+				continue;
+			if (aByte < 0x80 && bByte < 0x80)
+				return aByte - bByte;
+			return line(a).compareTo(line(b));
+		}
+		return aLength - bLength;
+	}
+
+	/**
+	 * @return the number of ASCII bytes at the start of every line that are the same
+	 */
+	int common() {
+		if (this.size == 0)
+			return 0;
+		final ByteBuffer first = segment(0);
+		final int firstOffset = offset(0);
+		int common = this.lengths[0];
+		for (int line = 0; line < this.size && common != 0; line++) {
+			final ByteBuffer bytes = segment(line);
+			final int offset = offset(line);
+			int i = 0;
+			for (final int length = Math.min(common, this.lengths[line]); i < length; i++) {
+				final byte b = bytes.get(offset + i);
+				if (b < 0 || b != first.get(firstOffset + i))
+					break;
+			}
+			common = i;
+		}
+		return common;
+	}
+
+	/**
+	 * The same as {@link FileSort#stringPrefix(String, int)} for the decoded
+	 * line, where offset is a number of ASCII bytes. Requires {@link #ascii}.
+	 *
+	 * @param line index of the line
+	 * @param offset bytes to skip
+	 * @return the bytes from offset, such that a smaller prefix is a smaller line
+	 */
+	long prefix(final int line, final int offset) {
+		final ByteBuffer bytes = segment(line);
+		final int start = offset(line) + offset;
+		final int length = this.lengths[line] - offset;
+		if (length >= 8) {
+			final long word = bytes.getLong(start);
+			if ((word & 0x8080808080808080L) == 0)
+				// All ASCII
+				return word ^ Long.MIN_VALUE;
+		}
+		long prefix = 0;
+		for (int i = 0; i < 8; i++) {
+			final int b = i < length ? bytes.get(start + i) & 0xFF : 0;
+			if (b >= 0x80) {
+				prefix = (prefix << 8 | 0x80) << 8 * (7 - i);
+				break;
+			}
+			prefix = prefix << 8 | b;
+		}
+		// Bytes are unsigned, but longs compare signed
+		return prefix ^ Long.MIN_VALUE;
+	}
+
+	/**
+	 * Writes the original bytes of each line, with the system line separator.
+	 *
+	 * @param order indices of lines, in the order to write
+	 * @param fout file to write
+	 * @param reverse if order should be written last to first
+	 * @throws IOException
+	 */
+	void write(final int[] order, final File fout, final boolean reverse) throws IOException {
+		final ByteBuffer[] segments = new ByteBuffer[this.segments.length];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = this.segments[i].duplicate();
+		}
+		try (final LineWriter out = new LineWriter(fout, this.charset)) {
+			if (reverse) {
+				for (int i = order.length - 1; i >= 0; i--) {
+					out.write(bytes(segments, order[i]));
+				}
+			} else {
+				for (final int line : order) {
+					out.write(bytes(segments, line));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param segments a duplicate of each segment, to be positioned
+	 * @param line index of the line
+	 * @return the segment of the line, positioned at its bytes
+	 */
+	private ByteBuffer bytes(final ByteBuffer[] segments, final int line) {
+		final ByteBuffer bytes = segments[(int) (this.positions[line] >>> 32)];
+		final int offset = offset(line);
+		bytes.limit(offset + this.lengths[line]).position(offset);
+		return bytes;
+	}
+}
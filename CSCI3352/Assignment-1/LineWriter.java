@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes lines, each followed by the system line separator, through a
+ * direct buffer to a file channel. Lines may be strings, or the original
+ * bytes of a line, which are copied without decoding. Strings are encoded
+ * the same as {@link java.io.PrintWriter}.
+ */
+final class LineWriter implements Closeable {
+	/**
+	 * Bytes written to the file at once
+	 */
+	static final int BUFFER = 1 << 20;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+	private final Charset charset;
+	private final CharsetEncoder encoder;
+	/**
+	 * The encoding is stateless, and a line separator is always the same bytes
+	 */
+	private final boolean ascii;
+	private final byte[] separator;
+
+	/**
+	 * @param fout file to write, replaced if it exists
+	 * @throws IOException
+	 */
+	LineWriter(final File fout) throws IOException {
+		this(fout, Charset.defaultCharset());
+	}
+
+	/**
+	 * @param fout file to write, replaced if it exists
+	 * @param charset the encoding of the file
+	 * @throws IOException
+	 */
+	LineWriter(final File fout, final Charset charset) throws IOException {
+		this.channel = FileChannel.open(fout.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.charset = charset;
+		this.encoder = charset
+			.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.ascii = LineIndex.ascii(charset);
+		this.separator = System.lineSeparator().getBytes(charset);
+	}
+
+	/**
+	 * @param line the line to encode
+	 * @throws IOException
+	 */
+	void write(final String line) throws IOException {
+		if (this.ascii) {
+			// Stateless, so each line is encoded alone
+			put(line.getBytes(this.charset));
+			put(this.separator);
+		} else {
+			encode(line);
+			encode(System.lineSeparator());
+		}
+	}
+
+	/**
+	 * @param line the original bytes of the line, in the encoding of the file, which are consumed
+	 * @throws IOException
+	 */
+	void write(final ByteBuffer line) throws IOException {
+		if (line.remaining() > this.buffer.remaining()) {
+			flush();
+			if (line.remaining() > this.buffer.capacity()) {
+				// Written directly, rather than in pieces
+				while (line.hasRemaining()) {
+					this.channel.write(line);
+				}
+			}
+		}
+		this.buffer.put(line);
+		put(this.separator);
+	}
+
+	private void put(final byte[] bytes) throws IOException {
+		if (bytes.length > this.buffer.remaining()) {
+			flush();
+			if (bytes.length > this.buffer.capacity()) {
+				final ByteBuffer line = ByteBuffer.wrap(bytes);
+				while (line.hasRemaining()) {
+					this.channel.write(line);
+				}
+				return;
+			}
+		}
+		this.buffer.put(bytes);
+	}
+
+	/**
+	 * A lone surrogate at the end of a line is malformed, the same as
+	 * when followed by the line separator.
+	 *
+	 * @param chars characters to encode, with the encoder's state from the previous line
+	 * @throws IOException
+	 */
+	private void encode(final CharSequence chars) throws IOException {
+		final CharBuffer in = CharBuffer.wrap(chars);
+		while (this.encoder.encode(in, this.buffer, false).isOverflow()) {
+			flush();
+		}
+		if (in.hasRemaining()) {
+			put(this.encoder.replacement());
+		}
+	}
+
+	private void flush() throws IOException {
+		this.buffer.flip();
+		while (this.buffer.hasRemaining()) {
+			this.channel.write(this.buffer);
+		}
+		this.buffer.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			final CharBuffer empty = CharBuffer.allocate(0);
+			while (this.encoder.encode(empty, this.buffer, true).isOverflow()) {
+				flush();
+			}
+			while (this.encoder.flush(this.buffer).isOverflow()) {
+				flush();
+			}
+			flush();
+		} finally {
+			this.channel.close();
+		}
+	}
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates {@link SortingNetwork}, the smallest sorting networks found of
+ * 2 to {@link #MAX} elements, as straight-line code. Each network is the
+ * one with the fewest comparators, then the least depth, of Batcher's
+ * odd-even merge sort and the smallest known networks of 10, 12, and 16
+ * elements, with wires removed from either end. Every network is checked
+ * to sort each sequence of 0s and 1s, so it sorts any sequence.
+ */
+public class NetworkGenerator {
+	/**
+	 * The most elements sorted by a network
+	 */
+	static final int MAX = 16;
+	/**
+	 * The smallest known networks, as pairs of wires in order
+	 */
+	static final int[][][] KNOWN = {
+		// 29 comparators, depth 8
+		{
+			{ 0, 8 }, { 1, 9 }, { 2, 7 }, { 3, 5 }, { 4, 6 },
+			{ 0, 2 }, { 1, 4 }, { 5, 8 }, { 7, 9 },
+			{ 0, 3 }, { 2, 4 }, { 5, 7 }, { 6, 9 },
+			{ 0, 1 }, { 3, 6 }, { 8, 9 },
+			{ 1, 5 }, { 2, 3 }, { 4, 8 }, { 6, 7 },
+			{ 1, 2 }, { 3, 5 }, { 4, 6 }, { 7, 8 },
+			{ 2, 3 }, { 4, 5 }, { 6, 7 },
+			{ 3, 4 }, { 5, 6 },
+		},
+		// 39 comparators, depth 9
+		{
+			{ 0, 8 }, { 1, 7 }, { 2, 6 }, { 3, 11 }, { 4, 10 }, { 5, 9 },
+			{ 0, 1 }, { 2, 5 }, { 3, 4 }, { 6, 9 }, { 7, 8 }, { 10, 11 },
+			{ 0, 2 }, { 1, 6 }, { 5, 10 }, { 9, 11 },
+			{ 0, 3 }, { 1, 2 }, { 4, 6 }, { 5, 7 }, { 8, 11 }, { 9, 10 },
+			{ 1, 4 }, { 3, 5 }, { 6, 8 }, { 7, 10 },
+			{ 1, 3 }, { 2, 5 }, { 6, 9 }, { 8, 10 },
+			{ 2, 3 }, { 4, 5 }, { 6, 7 }, { 8, 9 },
+			{ 4, 6 }, { 5, 7 },
+			{ 3, 4 }, { 5, 6 }, { 7, 8 },
+		},
+		// 60 comparators, depth 10
+		{
+			{ 0, 13 }, { 1, 12 }, { 2, 15 }, { 3, 14 }, { 4, 8 }, { 5, 6 }, { 7, 11 }, { 9, 10 },
+			{ 0, 5 }, { 1, 7 }, { 2, 9 }, { 3, 4 }, { 6, 13 }, { 8, 14 }, { 10, 15 }, { 11, 12 },
+			{ 0, 1 }, { 2, 3 }, { 4, 5 }, { 6, 8 }, { 7, 9 }, { 10, 11 }, { 12, 13 }, { 14, 15 },
+			{ 0, 2 }, { 1, 3 }, { 4, 10 }, { 5, 11 }, { 6, 7 }, { 8, 9 }, { 12, 14 }, { 13, 15 },
+			{ 1, 2 }, { 3, 12 }, { 4, 6 }, { 5, 7 }, { 8, 10 }, { 9, 11 }, { 13, 14 },
+			{ 1, 4 }, { 2, 6 }, { 5, 8 }, { 7, 10 }, { 9, 13 }, { 11, 14 },
+			{ 2, 4 }, { 3, 6 }, { 9, 12 }, { 11, 13 },
+			{ 3, 5 }, { 6, 8 }, { 7, 9 }, { 10, 12 },
+			{ 3, 4 }, { 5, 6 }, { 7, 8 }, { 9, 10 }, { 11, 12 },
+			{ 6, 7 }, { 8, 9 },
+		},
+	};
+
+	/**
+	 * Knuth's algorithm 5.2.2M, which is the smallest network known up to 8.
+	 *
+	 * @param size elements to sort
+	 * @return Batcher's odd-even merge sort of size elements
+	 */
+	static int[][] batcher(final int size) {
+		final List<int[]> network = new ArrayList<>();
+		final int t = 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1));
+		for (int p = 1 << (t - 1); p > 0; p >>= 1) {
+			for (int q = 1 << (t - 1), r = 0, d = p; d > 0; d = q - p, q >>= 1, r = p) {
+				for (int i = 0; i < size - d; i++) {
+					if ((i & p) == r) {
+						network.add(new int[] { i, i + d });
+					}
+				}
+			}
+		}
+		return network.toArray(new int[0][]);
+	}
+
+	/**
+	 * Wires below are always the least elements, and wires above always the
+	 * greatest, so their comparators never exchange and are removed.
+	 *
+	 * @param network
+	 * @param low first wire to keep
+	 * @param size wires to keep
+	 * @return the network of the kept wires
+	 */
+	static int[][] truncate(final int[][] network, final int low, final int size) {
+		final List<int[]> truncated = new ArrayList<>();
+		for (final int[] comparator : network) {
+			if (comparator[0] >= low && comparator[1] < low + size) {
+				truncated.add(new int[] { comparator[0] - low, comparator[1] - low });
+			}
+		}
+		return truncated.toArray(new int[0][]);
+	}
+
+	/**
+	 * @param size wires of the network
+	 * @param network
+	 * @return if the network sorts every sequence of 0s and 1s, and so any sequence
+	 */
+	static boolean sorts(final int size, final int[][] network) {
+		for (int bits = 0; bits < 1 << size; bits++) {
+			int v = bits;
+			for (final int[] comparator : network) {
+				// Exchange a 1 on the lower wire with a 0 on the higher
+				if ((v >> comparator[0] & 1) > (v >> comparator[1] & 1)) {
+					v ^= 1 << comparator[0] | 1 << comparator[1];
+				}
+			}
+			if (!ascending(v, size))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param v bits of each wire, from the lowest
+	 * @param size wires
+	 * @return if every 0 is on a lower wire than every 1
+	 */
+	static boolean ascending(final int v, final int size) {
+		return v == 0 || v == (-1 << Integer.numberOfTrailingZeros(v) & (1 << size) - 1);
+	}
+
+	/**
+	 * @param size wires of the network
+	 * @param network
+	 * @return the most comparators on any path through the network
+	 */
+	static int depth(final int size, final int[][] network) {
+		final int[] depths = new int[size];
+		int depth = 0;
+		for (final int[] comparator : network) {
+			final int d = Math.max(depths[comparator[0]], depths[comparator[1]]) + 1;
+			depths[comparator[0]] = depths[comparator[1]] = d;
+			depth = Math.max(depth, d);
+		}
+		return depth;
+	}
+
+	/**
+	 * @param size elements to sort
+	 * @return the network with the fewest comparators, then the least depth
+	 * @throws IllegalStateException if a network does not sort
+	 */
+	static int[][] network(final int size) throws IllegalStateException {
+		final List<int[][]> candidates = new ArrayList<>();
+		candidates.add(batcher(size));
+		for (final int[][] known : KNOWN) {
+			final int wires = wires(known);
+			for (int low = 0; low <= wires - size; low++) {
+				candidates.add(truncate(known, low, size));
+			}
+		}
+		int[][] best = null;
+		for (final int[][] network : candidates) {
+			if (!sorts(size, network))
+				throw new IllegalStateException(String.format("A network of %d comparators does not sort %d elements", network.length, size));
+			if (best == null
+				|| network.length < best.length
+				|| (network.length == best.length && depth(size, network) < depth(size, best))) {
+				best = network;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @param network
+	 * @return the wires of the network, one more than the highest
+	 */
+	static int wires(final int[][] network) {
+		int wires = 0;
+		for (final int[] comparator : network) {
+			wires = Math.max(wires, comparator[1] + 1);
+		}
+		return wires;
+	}
+
+	/**
+	 * Writes the source of {@link SortingNetwork}.
+	 *
+	 * @param args optionally the file to write, otherwise standard out
+	 * @throws FileNotFoundException
+	 */
+	public static void main(final String...args) throws FileNotFoundException {
+		final PrintStream out = args.length > 0 ? new PrintStream(args[0]) : System.out;
+		final int[][][] networks = new int[MAX + 1][][];
+		for (int size = 2; size <= MAX; size++) {
+			networks[size] = network(size);
+		}
+		out.print(""
+			+ "/*\n"
+			+ " * Copyright (C) 2015  Wesley Wolfe\n"
+			+ " * Works provided with supplemented terms, outlined in accompanying\n"
+			+ " * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork\n"
+			+ " *\n"
+			+ " * This program is free software: you can redistribute it and/or modify\n"
+			+ " * it under the terms of the GNU General Public License as published by\n"
+			+ " * the Free Software Foundation, either version 3 of the License, or\n"
+			+ " * (at your option) any later version.\n"
+			+ " *\n"
+			+ " * This program is distributed in the hope that it will be useful,\n"
+			+ " * but WITHOUT ANY WARRANTY; without even the implied warranty of\n"
+			+ " * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the\n"
+			+ " * GNU General Public License for more details.\n"
+			+ " *\n"
+			+ " * You should have received a copy of the GNU General Public License\n"
+			+ " * along with this program.  If not, see <http://www.gnu.org/licenses/>.\n"
+			+ " */\n"
+			+ "\n"
+			+ "import java.util.Comparator;\n"
+			+ "import java.util.List;\n"
+			+ "\n"
+			+ "/**\n"
+			+ " * Sorting networks of 2 to " + MAX + " elements, as straight-line code.\n"
+			+ " * Generated by {@link NetworkGenerator}; do not edit.\n"
+			+ " * <pre>\n"
+			+ " * elements comparators depth\n"
+			);
+		for (int size = 2; size <= MAX; size++) {
+			out.printf(" * %8d %11d %5d%n", size, networks[size].length, depth(size, networks[size]));
+		}
+		out.print(""
+			+ " * </pre>\n"
+			+ " */\n"
+			+ "final class SortingNetwork {\n"
+			+ "\t/**\n"
+			+ "\t * The most elements sorted by a network\n"
+			+ "\t */\n"
+			+ "\tstatic final int MAX = " + MAX + ";\n"
+			+ "\n"
+			+ "\t/**\n"
+			+ "\t * @param start inclusive\n"
+			+ "\t * @param end exclusive\n"
+			+ "\t * @param keys\n"
+			+ "\t * @param perm\n"
+			+ "\t * @throws IllegalArgumentException for more than {@link #MAX} elements, or end smaller than start\n"
+			+ "\t */\n"
+			+ "\tstatic void sort(final int start, final int end, final long[] keys, final int[] perm) throws IllegalArgumentException {\n"
+			);
+		dispatch(out, "keys, perm");
+		out.print(""
+			+ "\n"
+			+ "\t/**\n"
+			+ "\t * @param start inclusive\n"
+			+ "\t * @param end exclusive\n"
+			+ "\t * @param l\n"
+			+ "\t * @param c\n"
+			+ "\t * @throws IllegalArgumentException for more than {@link #MAX} elements, or end smaller than start\n"
+			+ "\t */\n"
+			+ "\tstatic <T> void sort(final int start, final int end, final List<T> l, final Comparator<? super T> c) throws IllegalArgumentException {\n"
+			);
+		dispatch(out, "l, c");
+		out.print(""
+			+ "\n"
+			+ "\t/**\n"
+			+ "\t * Exchanges two keys, and their indices, if the first is greater,\n"
+			+ "\t * without branching. The sign of the difference decides, corrected\n"
+			+ "\t * for overflow, as a mask of all 1s to exchange or all 0s to keep.\n"
+			+ "\t *\n"
+			+ "\t * @param i the lower index\n"
+			+ "\t * @param j the higher index\n"
+			+ "\t * @param keys\n"
+			+ "\t * @param perm\n"
+			+ "\t */\n"
+			+ "\tstatic void exchange(final int i, final int j, final long[] keys, final int[] perm) {\n"
+			+ "\t\tfinal long a = keys[i], b = keys[j], d = b - a;\n"
+			+ "\t\t// -1 if b < a, otherwise 0\n"
+			+ "\t\tfinal long mask = (d ^ ((b ^ a) & (d ^ b))) >> 63;\n"
+			+ "\t\tfinal long key = (a ^ b) & mask;\n"
+			+ "\t\tkeys[i] = a ^ key;\n"
+			+ "\t\tkeys[j] = b ^ key;\n"
+			+ "\t\tfinal int p = perm[i], q = perm[j];\n"
+			+ "\t\tfinal int index = (p ^ q) & (int) mask;\n"
+			+ "\t\tperm[i] = p ^ index;\n"
+			+ "\t\tperm[j] = q ^ index;\n"
+			+ "\t}\n"
+			+ "\n"
+			+ "\t/**\n"
+			+ "\t * @param i the lower index\n"
+			+ "\t * @param j the higher index\n"
+			+ "\t * @param l\n"
+			+ "\t * @param c\n"
+			+ "\t */\n"
+			+ "\tstatic <T> void exchange(final int i, final int j, final List<T> l, final Comparator<? super T> c) {\n"
+			+ "\t\tfinal T a = l.get(i), b = l.get(j);\n"
+			+ "\t\tif (c.compare(a, b) > 0) {\n"
+			+ "\t\t\tl.set(i, b);\n"
+			+ "\t\t\tl.set(j, a);\n"
+			+ "\t\t}\n"
+			+ "\t}\n"
+			);
+		for (int size = 2; size <= MAX; size++) {
+			out.print("\n\tstatic void sort" + size + "(final int start, final long[] keys, final int[] perm) {\n");
+			comparators(out, networks[size], "keys, perm");
+			out.print("\t}\n");
+		}
+		for (int size = 2; size <= MAX; size++) {
+			out.print("\n\tstatic <T> void sort" + size + "(final int start, final List<T> l, final Comparator<? super T> c) {\n");
+			comparators(out, networks[size], "l, c");
+			out.print("\t}\n");
+		}
+		out.print("}\n");
+		out.flush();
+		if (out != System.out) {
+			out.close();
+		}
+	}
+
+	private static void dispatch(final PrintStream out, final String arguments) {
+		out.print(""
+			+ "\t\tswitch (end - start) {\n"
+			+ "\t\tcase 0:\n"
+			+ "\t\tcase 1:\n"
+			+ "\t\t\treturn;\n"
+			);
+		for (int size = 2; size <= MAX; size++) {
+			out.print(""
+				+ "\t\tcase " + size + ":\n"
+				+ "\t\t\tsort" + size + "(start, " + arguments + ");\n"
+				+ "\t\t\treturn;\n"
+				);
+		}
+		out.print(""
+			+ "\t\tdefault:\n"
+			+ "\t\t\tthrow new IllegalArgumentException(String.format(\n"
+			+ "\t\t\t\t\"Interval [%s,%s) is not 0 to %s elements!\",\n"
+			+ "\t\t\t\tstart,\n"
+			+ "\t\t\t\tend,\n"
+			+ "\t\t\t\tMAX\n"
+			+ "\t\t\t\t));\n"
+			+ "\t\t}\n"
+			+ "\t}\n"
+			);
+	}
+
+	private static void comparators(final PrintStream out, final int[][] network, final String arguments) {
+		for (final int[] comparator : network) {
+			out.print("\t\texchange(start + " + comparator[0] + ", start + " + comparator[1] + ", " + arguments + ");\n");
+		}
+	}
+}
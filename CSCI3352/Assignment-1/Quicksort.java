@@ -17,125 +17,592 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.UncheckedIOException;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.Deque;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map.Entry;
-import java.util.Optional;
-import java.util.function.Function;
-import java.util.logging.Level;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
-
 public class Quicksort {
 	static final Logger log = Logger.getLogger(Quicksort.class.getName());
-	static final String HELP = "<HELP>\n\n"
-		+ "-h -H : display this help\n"
-		+ "-d -D :\n"
-		+ "-f -F :"
-			+ " parse following files as decimals aka floating point\n"
-		+ "-n -N :\n"
-		+ "-i -I :\n"
-		+ "-l -L :"
-			+ " parse following files as natural numbers, aka integer or longs\n"
-		+ "-s -S :"
-			+ " parse following files as plaintext, using Java's default comparator\n"
-		+ "-r -R :"
-			+ " toggles reversing how the following files are sorted\n"
-		+ "       "
-			+ " by default, the smallest possible elements will be first, and\n"
+	/**
+	 * Sub-lists this size or smaller are sorted sequentially, when sorting in parallel
+	 */
+	static final int SEQUENTIAL = 1 << 13;
+	/**
+	 * Sub-lists this size or larger are partitioned in parallel
+	 */
+	static final int PARALLEL_PARTITION = 1 << 20;
+	/**
+	 * Elements for each thread while partitioning in parallel
+	 */
+	static final int BLOCK = 1 << 16;
+	/**
+	 * Elements compared to the pivot, to decide if a sub-list has duplicates
+	 */
+	static final int SAMPLE = 8;
+	/**
+	 * Sub-lists smaller than this are always partitioned two ways
+	 */
+	static final int SAMPLE_MIN = 32;
+	/**
+	 * Sub-lists this size or smaller are sorted without partitioning, unless another cutoff is given
+	 */
+	static final int LEAF = SortingNetwork.MAX;
+	static final String HELP = FileSort.help(""
+			+ " toggles sorting the following files in parallel, using all processors\n"
 		+ "       "
-			+ " strings starting with A before strings starting with Z, and\n"
+			+ " files in memory are also read in chunks, and parsed concurrently\n"
+		, ""
+		+ "-c -C :"
+			+ " sort following files without partitioning sub-lists of the next parameter\n"
 		+ "       "
-			+ " strings truncated before strings with more characters\n"
-		+ "-  -- :"
-			+ " treat all following tokens as literal files\n"
+			+ " elements or fewer, by sorting networks up to 16, otherwise insertion sort\n"
 		+ "       "
-			+ " Note, this is always pointless, as files require extensions!\n"
-		+ "\n"
-		+ "Output files will always be named with `.out' prepending the file extension, like\n"
-		+ "in>   file.txt\n"
-		+ "out>  file.out.txt\n"
-		+ "\n"
-		+ "Example execution\n"
-		+ "params>   -s file.log     -n num1.txt     num2.data     -d num3.txt\n"
-		+ "out files>   file.out.log    num1.out.txt num2.out.data    num3.out.txt\n"
-		+ "sorted as>   strings         integers     integers         decimals\n"
-		+ "\n"
-		+ "Parsing files as plaintext is default behavior."
-		+ "";
+			+ " by default 16; larger leaves partition less, but compare more\n"
+		, true);
+
+	/**
+	 * Quicksort with a specified leaf cutoff, as an algorithm for each kind
+	 * of sort in {@link FileSort}. Larger leaves are partitioned less, at
+	 * the cost of sorting more elements without partitioning.
+	 */
+	static final class Cutoff implements FileSort.Sorter, FileSort.LongSorter, FileSort.PrefixSorter {
+		final int leaf;
+		final boolean parallel;
+
+		/**
+		 * @param leaf sub-lists this size or smaller are sorted without partitioning
+		 * @param parallel if sorting in parallel
+		 * @throws IllegalArgumentException if leaf &lt; 1
+		 */
+		Cutoff(final int leaf, final boolean parallel) throws IllegalArgumentException {
+			if (leaf < 1)
+				throw new IllegalArgumentException(leaf + " < 1");
+			this.leaf = leaf;
+			this.parallel = parallel;
+		}
+
+		@Override
+		public <T> void sort(final List<T> l, final Comparator<? super T> c) {
+			if (this.parallel) {
+				parallelQuicksort(this.leaf, l, c);
+			} else {
+				quicksort(this.leaf, l, c);
+			}
+		}
+
+		@Override
+		public void sort(final long[] keys, final int[] perm) {
+			if (this.parallel) {
+				parallelQuicksort(this.leaf, keys, perm);
+			} else {
+				quicksort(this.leaf, keys, perm);
+			}
+		}
+
+		@Override
+		public void sort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+			sort(prefixes, perm);
+			ties(prefixes, perm, ties, this.leaf, this.parallel);
+		}
+	}
 
 	/**
 	 * Quicksorts sub-list in-place, minimum first.
-	 * Delegates to {@link #foursort(int, int, List, Comparator)} for lists < 4.
 	 * Uses pivot selected from middle of list, then
 	 * separates elements higher or lower as sub-lists, then
 	 * performs same quicksort on each sub-list.
+	 * Sub-lists of {@link #LEAF} or fewer are sorted by
+	 * {@link #leaf(int, int, List, Comparator)} when partitioned, without
+	 * being queued.
+	 * Sub-lists partitioned more than {@link #depthLimit(int)} times are
+	 * heapsorted instead, so the worst case is O(n log n).
 	 *
 	 * @param l
 	 * @param c
 	 */
 	static <T> void quicksort(final List<T> l, final Comparator<? super T> c) {
+		quicksort(LEAF, l, c);
+	}
+
+	/**
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param l
+	 * @param c
+	 * @see #quicksort(List, Comparator)
+	 */
+	static <T> void quicksort(final int leaf, final List<T> l, final Comparator<? super T> c) {
+		quicksort(0, l.size(), depthLimit(l.size()), leaf, l, c);
+	}
+
+	/**
+	 * Quicksorts the specified sub-list in list.
+	 *
+	 * @param from inclusive
+	 * @param to exclusive
+	 * @param limit partitions allowed before heapsorting
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param l
+	 * @param c
+	 */
+	static <T> void quicksort(final int from, final int to, final int limit, final int leaf, final List<T> l, final Comparator<? super T> c) {
+		if (to - from <= leaf) {
+			leaf(from, to, l, c);
+			return;
+		}
 		final ListIterator<Entry<Integer, Integer>> stack = new ArrayList<Entry<Integer, Integer>>().listIterator();
-		stack.add(tuple(0, l.size()));
+		// Partitions remaining for each sub-list in stack
+		final ListIterator<Integer> limits = new ArrayList<Integer>().listIterator();
+		stack.add(tuple(from, to));
+		limits.add(limit);
 		while (stack.hasPrevious()) {
 			final Entry<Integer, Integer> entry = pop(stack);
+			final int remaining = pop(limits);
 			final int
 				// inclusive
 				start = entry.getKey(),
 				// exclusive
-				end = entry.getValue(),
-				size = end - start;
-			if (size <= 4) {
-				// We really don't need to quicksort on small lists
+				end = entry.getValue();
+			if (remaining == 0) {
+				// Partitions have been too uneven
+				Heapsort.heapsort(l.subList(start, end), c);
+				continue;
+			}
+
+			final Entry<Integer, Integer> split = split(start, end, l, c, false);
+			// Queue left, unless small enough to finish now
+			if (split.getKey() - start <= leaf) {
+				leaf(start, split.getKey(), l, c);
+			} else {
+				stack.add(tuple(start, split.getKey()));
+				limits.add(remaining - 1);
+			}
+			// Queue right
+			if (end - split.getValue() <= leaf) {
+				leaf(split.getValue(), end, l, c);
+			} else {
+				stack.add(tuple(split.getValue(), end));
+				limits.add(remaining - 1);
+			}
+		}
+	}
+
+	/**
+	 * Sorts a sub-list too small to partition: by
+	 * {@link #foursort(int, int, List, Comparator)} up to 4, which takes the
+	 * fewest comparisons, by {@link SortingNetwork} up to its
+	 * {@link SortingNetwork#MAX}, otherwise by insertion sort.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param l
+	 * @param c
+	 */
+	static <T> void leaf(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		final int size = end - start;
+		if (size <= 4) {
+			foursort(start, end, l, c);
+		} else if (size <= SortingNetwork.MAX) {
+			SortingNetwork.sort(start, end, l, c);
+		} else {
+			insertionSort(start, end, l, c);
+		}
+	}
+
+	/**
+	 * @param size elements to sort
+	 * @return partitions allowed before heapsorting, 2 log2(size)
+	 */
+	static int depthLimit(final int size) {
+		return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
+	}
+
+	/**
+	 * Partitions the sub-list three ways when a sample has duplicates of the
+	 * pivot, otherwise two ways.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive, at least 1 more than start
+	 * @param l
+	 * @param c
+	 * @param parallel if large sub-lists should be partitioned in parallel
+	 * @return the end of the left sub-list, and the start of the right sub-list;
+	 *         elements between are equal to the pivot
+	 */
+	static <T> Entry<Integer, Integer> split(final int start, final int end, final List<T> l, final Comparator<? super T> c, final boolean parallel) {
+		if (duplicates(start, end, l, c))
+			return partition3(start, end, l, c);
+		final int pivot = parallel && end - start >= PARALLEL_PARTITION
+			? parallelPartition(start, end, l, c)
+			: partition(start, end, l, c);
+		return tuple(pivot, pivot + 1);
+	}
+
+	/**
+	 * Compares {@link #SAMPLE} evenly spaced elements to the middle element,
+	 * which will be the pivot.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param l
+	 * @param c
+	 * @return true if any are equal; false if none are, or the sub-list is smaller than {@link #SAMPLE_MIN}
+	 */
+	static <T> boolean duplicates(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		final int size = end - start;
+		if (size < SAMPLE_MIN)
+			return false;
+		final T pivot = l.get(start + size / 2);
+		for (int i = 0; i < SAMPLE; i++) {
+			// Odd sixteenths, never the middle
+			if (c.compare(pivot, l.get(start + (int) ((long) size * (2 * i + 1) / (2 * SAMPLE)))) == 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Partitions the sub-list into elements lower, equal, and higher than the
+	 * middle element, such that equal elements are never compared again.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive, at least 1 more than start
+	 * @param l
+	 * @param c
+	 * @return the start and end of the equal elements
+	 */
+	static <T> Entry<Integer, Integer> partition3(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		final T pivot = l.get(start + (end - start) / 2);
+		// [start, lower) are lower, [lower, i) are equal, [higher, end) are higher
+		int lower = start, i = start, higher = end;
+		while (i != higher) {
+			final T o = l.get(i);
+			final int compare = c.compare(o, pivot);
+			if (compare < 0) {
+				l.set(i++, l.set(lower++, o));
+			} else if (compare > 0) {
+				l.set(i, l.set(--higher, o));
+			} else {
+				i++;
+			}
+		}
+		return tuple(lower, higher);
+	}
+
+	/**
+	 * Uses pivot selected from middle of sub-list, then
+	 * separates elements higher (right) or lower (left).
+	 *
+	 * @param start inclusive
+	 * @param end exclusive, at least 1 more than start
+	 * @param l
+	 * @param c
+	 * @return the final index of the pivot
+	 */
+	static <T> int partition(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		final int size = end - start;
+		int lSize = 0;
+		int rSize = 0;
+		final T pivot = l.set(start + size / 2, l.get(start));
+		l.set(start, pivot);
+		while ((lSize + rSize + 1) != size) {
+			// The next left-index
+			final int index = start + 1 + lSize;
+			final T o = l.get(index);
+			if (c.compare(pivot, o) < 0) {
+				// Swap to right side
+				// Leaves element from right side as next to check
+				l.set(index, l.set(end - 1 - rSize++, o));
+			} else {
+				// Moves the index
+				lSize++;
+			}
+		}
+		// Set pivot to correct index.
+		// This element will never move,
+		// and is skipped for sub-lists being queued
+		l.set(start, l.set(start + lSize, pivot));
+		return start + lSize;
+	}
+
+	/**
+	 * Moves the element of each rank to that index, the same as if the list
+	 * were sorted, without sorting the rest of the list. Each sub-list is
+	 * partitioned the same as {@link #quicksort(List, Comparator)}, but only
+	 * the sides holding a rank are partitioned again, so all ranks are
+	 * selected in one pass, in O(n) expected time. Sub-lists partitioned more
+	 * than {@link #depthLimit(int)} times use the median of medians as the
+	 * pivot instead, which always leaves each side at most 7/10 of the sub-list.
+	 *
+	 * @param ranks indices to select, in ascending order
+	 * @param l
+	 * @param c
+	 */
+	static <T> void select(final int[] ranks, final List<T> l, final Comparator<? super T> c) {
+		select(0, l.size(), depthLimit(l.size()), ranks, l, c);
+	}
+
+	/**
+	 * @param from inclusive
+	 * @param to exclusive
+	 * @param limit partitions allowed before using the median of medians
+	 * @param ranks indices to select, in ascending order, from inclusive to exclusive
+	 * @param l
+	 * @param c
+	 * @see #select(int[], List, Comparator)
+	 */
+	static <T> void select(final int from, final int to, final int limit, final int[] ranks, final List<T> l, final Comparator<? super T> c) {
+		// Start (inclusive), end (exclusive), first rank (inclusive), last rank (exclusive), and partitions remaining
+		int[] stack = new int[160];
+		int top = 0;
+		stack[top++] = from;
+		stack[top++] = to;
+		stack[top++] = 0;
+		stack[top++] = ranks.length;
+		stack[top++] = limit;
+		while (top != 0) {
+			final int
+				remaining = stack[--top],
+				last = stack[--top],
+				first = stack[--top],
+				end = stack[--top],
+				start = stack[--top];
+			if (first == last)
+				// No ranks here
+				continue;
+			if (end - start <= 4) {
 				foursort(start, end, l, c);
 				continue;
 			}
 
-			int lSize = 0;
-			int rSize = 0;
-			final T pivot = l.set(start + size / 2, l.get(start));
-			l.set(start, pivot);
-			while ((lSize + rSize + 1) != size) {
-				// The next left-index
-				final int index = start + 1 + lSize;
-				final T o = l.get(index);
-				if (c.compare(pivot, o) < 0) {
-					// Swap to right side
-					// Leaves element from right side as next to check
-					l.set(index, l.set(end - 1 - rSize++, o));
+			final Entry<Integer, Integer> split;
+			if (remaining == 0) {
+				// Partitions have been too uneven
+				Heapsort.swap(medianOfMedians(start, end, l, c), start + (end - start) / 2, l);
+				split = partition3(start, end, l, c);
+			} else {
+				split = split(start, end, l, c, false);
+			}
+			// Ranks between are equal to the pivot, and already in place
+			final int left = search(split.getKey(), first, last, ranks);
+			final int right = search(split.getValue(), left, last, ranks);
+			if (top + 10 > stack.length) {
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			}
+			stack[top++] = start;
+			stack[top++] = split.getKey();
+			stack[top++] = first;
+			stack[top++] = left;
+			stack[top++] = Math.max(remaining - 1, 0);
+			stack[top++] = split.getValue();
+			stack[top++] = end;
+			stack[top++] = right;
+			stack[top++] = last;
+			stack[top++] = Math.max(remaining - 1, 0);
+		}
+	}
+
+	/**
+	 * Sorts each group of 5 elements, and moves the median of each group to
+	 * the start of the sub-list, then selects the median of those medians.
+	 * Half of the groups have a median no higher, each with 3 elements no
+	 * higher, so at least 3/10 of the sub-list is no higher, and the same
+	 * for no lower.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive, at least 1 more than start
+	 * @param l
+	 * @param c
+	 * @return the index of the median of medians
+	 */
+	static <T> int medianOfMedians(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		int medians = start;
+		for (int i = start; i < end; i += 5) {
+			final int group = Math.min(i + 5, end);
+			insertionSort(i, group, l, c);
+			// Groups before this one are done, so their space is free
+			Heapsort.swap(medians++, i + (group - i - 1) / 2, l);
+		}
+		final int median = start + (medians - start - 1) / 2;
+		select(start, medians, depthLimit(medians - start), new int[] { median }, l, c);
+		return median;
+	}
+
+	/**
+	 * @param index of the list
+	 * @param first inclusive
+	 * @param last exclusive
+	 * @param ranks distinct, in ascending order
+	 * @return the first of ranks, from first to last, not less than index, or last if there is none
+	 */
+	static int search(final int index, final int first, final int last, final int[] ranks) {
+		final int found = Arrays.binarySearch(ranks, first, last, index);
+		return found < 0 ? -found - 1 : found;
+	}
+
+	/**
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param l
+	 * @param c
+	 */
+	static <T> void insertionSort(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		for (int i = start + 1; i < end; i++) {
+			final T o = l.get(i);
+			int j = i;
+			for (; j > start && c.compare(l.get(j - 1), o) > 0; j--) {
+				l.set(j, l.get(j - 1));
+			}
+			l.set(j, o);
+		}
+	}
+
+	/**
+	 * Quicksorts list in-place, the same as {@link #quicksort(List, Comparator)},
+	 * with each sub-list larger than {@link #SEQUENTIAL} sorted as a separate
+	 * fork/join task. Sub-lists of at least {@link #PARALLEL_PARTITION} are
+	 * also partitioned in parallel. The list must allow concurrent sets.
+	 *
+	 * @param l
+	 * @param c
+	 */
+	static <T> void parallelQuicksort(final List<T> l, final Comparator<? super T> c) {
+		parallelQuicksort(LEAF, l, c);
+	}
+
+	/**
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param l
+	 * @param c
+	 * @see #parallelQuicksort(List, Comparator)
+	 */
+	static <T> void parallelQuicksort(final int leaf, final List<T> l, final Comparator<? super T> c) {
+		ForkJoinPool.commonPool().invoke(new Task<>(0, l.size(), depthLimit(l.size()), leaf, l, c));
+	}
+
+	/**
+	 * A sub-list being quicksorted in parallel.
+	 */
+	static final class Task<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final int start;
+		final int end;
+		/**
+		 * Partitions allowed before heapsorting
+		 */
+		final int limit;
+		final int leaf;
+		final List<T> l;
+		final Comparator<? super T> c;
+
+		Task(final int start, final int end, final int limit, final int leaf, final List<T> l, final Comparator<? super T> c) {
+			this.start = start;
+			this.end = end;
+			this.limit = limit;
+			this.leaf = leaf;
+			this.l = l;
+			this.c = c;
+		}
+
+		/**
+		 * The smaller side of each partition is forked, and the larger side
+		 * is partitioned again, so tasks are never nested deeper than log(n).
+		 */
+		@Override
+		protected void compute() {
+			final Deque<Task<T>> forked = new ArrayDeque<>();
+			int start = this.start;
+			int end = this.end;
+			int limit = this.limit;
+			for (; end - start > SEQUENTIAL && limit != 0; limit--) {
+				final Entry<Integer, Integer> split = split(start, end, this.l, this.c, true);
+				final int lEnd = split.getKey(), rStart = split.getValue();
+				final int smallStart, smallEnd;
+				if (lEnd - start < end - rStart) {
+					smallStart = start;
+					smallEnd = lEnd;
+					start = rStart;
+				} else {
+					smallStart = rStart;
+					smallEnd = end;
+					end = lEnd;
+				}
+				if (smallEnd - smallStart > SEQUENTIAL) {
+					final Task<T> task = new Task<>(smallStart, smallEnd, limit - 1, this.leaf, this.l, this.c);
+					task.fork();
+					forked.push(task);
 				} else {
-					// Moves the index
-					lSize++;
+					quicksort(smallStart, smallEnd, limit - 1, this.leaf, this.l, this.c);
 				}
 			}
-			// Set pivot to correct index.
-			// This element will never move,
-			// and is skipped for sub-lists being queued
-			l.set(start, l.set(start + lSize, pivot));
-			// Queue left
-			stack.add(tuple(start, start + lSize));
-			// Queue right
-			stack.add(tuple(start + lSize + 1, end));
+			quicksort(start, end, limit, this.leaf, this.l, this.c);
+			while (!forked.isEmpty()) {
+				forked.pop().join();
+			}
 		}
 	}
 
+	/**
+	 * Partitions the same as {@link #partition(int, int, List, Comparator)},
+	 * except blocks of the sub-list are compared to the pivot in parallel,
+	 * then copied through a temporary array to their side of the pivot.
+	 * The order within each side is not the same.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive, at least 1 more than start
+	 * @param l
+	 * @param c
+	 * @return the final index of the pivot
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> int parallelPartition(final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		final int size = end - start;
+		final T pivot = l.set(start + size / 2, l.get(start));
+		l.set(start, pivot);
+		// Elements after the pivot, in blocks
+		final int blocks = (size - 1 + BLOCK - 1) / BLOCK;
+		final boolean[] right = new boolean[size - 1];
+		final int[] lefts = new int[blocks + 1];
+		IntStream.range(0, blocks).parallel().forEach(b -> {
+			final int to = Math.min(size - 1, (b + 1) * BLOCK);
+			int count = 0;
+			for (int i = b * BLOCK; i < to; i++) {
+				if (!(right[i] = c.compare(pivot, l.get(start + 1 + i)) < 0)) {
+					count++;
+				}
+			}
+			lefts[b + 1] = count;
+		});
+		for (int b = 0; b < blocks; b++) {
+			lefts[b + 1] += lefts[b];
+		}
+		final int lSize = lefts[blocks];
+		final Object[] temp = new Object[size];
+		temp[lSize] = pivot;
+		IntStream.range(0, blocks).parallel().forEach(b -> {
+			final int to = Math.min(size - 1, (b + 1) * BLOCK);
+			int left = lefts[b];
+			// Right elements before this block, after the pivot
+			int rightAt = lSize + 1 + b * BLOCK - lefts[b];
+			for (int i = b * BLOCK; i < to; i++) {
+				temp[right[i] ? rightAt++ : left++] = l.get(start + 1 + i);
+			}
+		});
+		IntStream.range(0, size).parallel().forEach(i -> l.set(start + i, (T) temp[i]));
+		return start + lSize;
+	}
+
 	/**
 	 * Sorts the specified sub-list in list.
 	 * Calls to comparator are minimized, with up to
@@ -367,179 +834,434 @@ public class Quicksort {
 		}
 	}
 
-	static Optional<List<Entry<String, String>>> stringPerform(final File fin) {
-		return performTuple(fin, String::compareTo, Object::toString);
+	/**
+	 * Quicksorts keys in-place, the same as {@link #quicksort(List, Comparator)},
+	 * moving each element of perm with its key.
+	 * Sub-lists of {@link #LEAF} or fewer are sorted by
+	 * {@link #leaf(int, int, long[], int[])}.
+	 *
+	 * @param keys
+	 * @param perm indices of the lines for each key
+	 */
+	static void quicksort(final long[] keys, final int[] perm) {
+		quicksort(LEAF, keys, perm);
+	}
+
+	/**
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param keys
+	 * @param perm
+	 * @see #quicksort(long[], int[])
+	 */
+	static void quicksort(final int leaf, final long[] keys, final int[] perm) {
+		quicksort(0, keys.length, depthLimit(keys.length), leaf, keys, perm);
 	}
 
-	static Optional<List<Entry<BigInteger, String>>> integerPerform(final File fin) {
-		return performTuple(fin, BigInteger::compareTo, BigInteger::new);
+	/**
+	 * Quicksorts prefixes in-place, the same as {@link #quicksort(long[], int[])},
+	 * then quicksorts each run of equal prefixes by comparing their values.
+	 *
+	 * @param prefixes
+	 * @param perm indices of the values for each prefix
+	 * @param ties compares the values of two indices
+	 */
+	static void quicksort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+		quicksort(prefixes, perm);
+		ties(prefixes, perm, ties, false);
 	}
 
-	static Optional<List<Entry<BigDecimal, String>>> floatPerform(final File fin) {
-		return performTuple(fin, BigDecimal::compareTo, BigDecimal::new);
+	/**
+	 * @param prefixes
+	 * @param perm
+	 * @param ties
+	 * @see #quicksort(long[], int[], IntBinaryOperator)
+	 */
+	static void parallelQuicksort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+		parallelQuicksort(prefixes, perm);
+		ties(prefixes, perm, ties, true);
 	}
 
 	/**
-	 * Wrap tuples around parsed object and original data.
-	 * Comparators only work on parsed object, but we write the original back out.
+	 * Quicksorts each run of equal prefixes, which are already sorted.
 	 *
-	 * @param fin
-	 * @param comparator
-	 * @param mapper
-	 * @return
+	 * @param prefixes
+	 * @param perm
+	 * @param ties
+	 * @param parallel if the runs should be sorted concurrently
 	 */
-	static <T> Optional<List<Entry<T, String>>> performTuple(final File fin, final Comparator<? super T> comparator, final Function<? super String, ? extends T> mapper) {
-		return perform(fin, Entry.comparingByKey(comparator), (s) -> tuple(mapper.apply(s), s));
+	static void ties(final long[] prefixes, final int[] perm, final IntBinaryOperator ties, final boolean parallel) {
+		ties(prefixes, perm, ties, LEAF, parallel);
 	}
 
-	static <L, R> Entry<L, R> tuple(final L l, final R r) {
-		return new SimpleEntry<>(l, r);
+	/**
+	 * @param prefixes
+	 * @param perm
+	 * @param ties
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param parallel
+	 * @see #ties(long[], int[], IntBinaryOperator, boolean)
+	 */
+	static void ties(final long[] prefixes, final int[] perm, final IntBinaryOperator ties, final int leaf, final boolean parallel) {
+		final List<Integer> indices = new LineIndex.Indices(perm);
+		final Comparator<Integer> c = ties::applyAsInt;
+		final int length = prefixes.length;
+		// The start of each run of 2 or more
+		final IntStream runs = IntStream
+			.range(0, length - 1)
+			.filter(i -> prefixes[i] == prefixes[i + 1] && (i == 0 || prefixes[i - 1] != prefixes[i]));
+		(parallel ? runs.parallel() : runs).forEach(start -> {
+			int end = start + 2;
+			for (; end < length && prefixes[end] == prefixes[start]; end++);
+			quicksort(start, end, depthLimit(end - start), leaf, indices, c);
+		});
 	}
 
-	static <T> T pop(final ListIterator<? extends T> l) {
-		final T o = l.previous();
-		l.remove();
-		return o;
+	/**
+	 * @param from inclusive
+	 * @param to exclusive
+	 * @param limit partitions allowed before heapsorting
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param keys
+	 * @param perm
+	 * @see #quicksort(long[], int[])
+	 */
+	static void quicksort(final int from, final int to, final int limit, final int leaf, final long[] keys, final int[] perm) {
+		if (to - from <= leaf) {
+			leaf(from, to, keys, perm);
+			return;
+		}
+		// Start (inclusive), end (exclusive), and partitions remaining
+		int[] stack = new int[96];
+		int top = 0;
+		stack[top++] = from;
+		stack[top++] = to;
+		stack[top++] = limit;
+		while (top != 0) {
+			final int
+				remaining = stack[--top],
+				end = stack[--top],
+				start = stack[--top];
+			if (remaining == 0) {
+				Heapsort.heapsort(start, end, keys, perm);
+				continue;
+			}
+
+			final long split = split(start, end, keys, perm, false);
+			final int lEnd = (int) (split >>> 32), rStart = (int) split;
+			if (top + 6 > stack.length) {
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			}
+			// Each side is queued, unless small enough to finish now
+			if (lEnd - start <= leaf) {
+				leaf(start, lEnd, keys, perm);
+			} else {
+				stack[top++] = start;
+				stack[top++] = lEnd;
+				stack[top++] = remaining - 1;
+			}
+			if (end - rStart <= leaf) {
+				leaf(rStart, end, keys, perm);
+			} else {
+				stack[top++] = rStart;
+				stack[top++] = end;
+				stack[top++] = remaining - 1;
+			}
+		}
 	}
 
 	/**
-	 * Read file, transform lines, sort (quicksort), and return resulting data.
+	 * Sorts keys too few to partition: by {@link SortingNetwork} up to its
+	 * {@link SortingNetwork#MAX}, exchanging without branching, otherwise
+	 * by insertion sort.
 	 *
-	 * @param fin file to read
-	 * @param comparator sorting descriminator
-	 * @param mapper transformer
-	 * @return resulting data
-	 */
-	static <T> Optional<List<T>> perform(final File fin, final Comparator<? super T> comparator, final Function<? super String, ? extends T> mapper) {
-		if (!(fin.exists() && fin.canRead())) {
-			log.severe(String.format(
-				"`%s' points to `%s', but cannot be read as a file",
-				fin, fin.getAbsolutePath()
-				));
-			return empty();
-		}
-		final List<T> read;
-		try (final BufferedReader in = new BufferedReader(new FileReader(fin))) {
-			read = new ArrayList<> /* I need to confirm mutability */(in
-				.lines()
-				.map(mapper)
-				.collect(Collectors.toList())
-				);
-		} catch (final NumberFormatException ex) {
-			log.log(
-				Level.SEVERE,
-				String.format("%s contains invalid data", fin),
-				ex
-				);
-			return empty();
-		} catch (final UncheckedIOException | IOException ex) {
-			log.log(
-				Level.SEVERE,
-				String.format("Could not read from %s", fin.getAbsolutePath()),
-				ex
-				);
-			return empty();
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param keys
+	 * @param perm
+	 */
+	static void leaf(final int start, final int end, final long[] keys, final int[] perm) {
+		if (end - start <= SortingNetwork.MAX) {
+			SortingNetwork.sort(start, end, keys, perm);
+		} else {
+			insertionSort(start, end, keys, perm);
 		}
-		quicksort(read, comparator);
-		return of(read);
 	}
 
-	public static void main(String... args) {
-		if (args.length == 0) {
-			log.warning("No arguments specified");
-			return;
+	/**
+	 * @return the end of the left sub-list in the upper 32 bits, and the start of the right in the lower
+	 * @see #split(int, int, List, Comparator, boolean)
+	 */
+	static long split(final int start, final int end, final long[] keys, final int[] perm, final boolean parallel) {
+		if (duplicates(start, end, keys))
+			return partition3(start, end, keys, perm);
+		final int pivot = parallel && end - start >= PARALLEL_PARTITION
+			? parallelPartition(start, end, keys, perm)
+			: partition(start, end, keys, perm);
+		return (long) pivot << 32 | pivot + 1;
+	}
+
+	/**
+	 * @see #duplicates(int, int, List, Comparator)
+	 */
+	static boolean duplicates(final int start, final int end, final long[] keys) {
+		final int size = end - start;
+		if (size < SAMPLE_MIN)
+			return false;
+		final long pivot = keys[start + size / 2];
+		for (int i = 0; i < SAMPLE; i++) {
+			if (pivot == keys[start + (int) ((long) size * (2 * i + 1) / (2 * SAMPLE))])
+				return true;
 		}
-		boolean reverse = false;
-		String token = null;
-		Function<File, Optional<? extends List<? extends Entry<?, String>>>> performer;
-		performer = Quicksort::stringPerform; // Default to strings
-		for (final Iterator<String> it = Arrays.asList(args).iterator(); it.hasNext(); /* NOOP */) {
-			final File fin;
-			if (!("--".equals(token) || "-".equals(token))) {
-				token = it.next();
-				switch (token) {
-				case "-s": case "-S":
-					performer = Quicksort::stringPerform;
-					continue;
-				case "-i": case "-I":
-				case "-n": case "-N":
-				case "-l": case "-L":
-					performer = Quicksort::integerPerform;
-					continue;
-				case "-f": case "-F":
-				case "-d": case "-D":
-					performer = Quicksort::floatPerform;
-					continue;
-				case "-r": case "-R":
-					reverse = !reverse;
-					continue;
-				case "-": case "--":
-					if (!it.hasNext()) {
-						warnDangling(token);
-					}
-					continue;
-				case "-h": case "-H":
-					log.info(HELP);
-					token = null;
-					continue;
-				default:
-					fin = new File(token);
-					token = null;
-				}
+		return false;
+	}
+
+	/**
+	 * @return the start of the equal keys in the upper 32 bits, and the end in the lower
+	 * @see #partition3(int, int, List, Comparator)
+	 */
+	static long partition3(final int start, final int end, final long[] keys, final int[] perm) {
+		final long pivot = keys[start + (end - start) / 2];
+		int lower = start, i = start, higher = end;
+		while (i != higher) {
+			final long o = keys[i];
+			if (o < pivot) {
+				Heapsort.swap(i++, lower++, keys, perm);
+			} else if (o > pivot) {
+				Heapsort.swap(i, --higher, keys, perm);
 			} else {
-				fin = new File(it.next());
+				i++;
 			}
-			final Optional<File> fout = makeOut(fin);
-			if (!fout.isPresent()) {
-				log.severe(String.format(
-					"`%s' is not a valid filename. Files must have a valid extension.",
-					token
-					));
-				continue;
+		}
+		return (long) lower << 32 | higher;
+	}
+
+	/**
+	 * @param start inclusive
+	 * @param end exclusive, at least 1 more than start
+	 * @param keys
+	 * @param perm
+	 * @return the final index of the pivot
+	 * @see #partition(int, int, List, Comparator)
+	 */
+	static int partition(final int start, final int end, final long[] keys, final int[] perm) {
+		final int middle = start + (end - start) / 2;
+		final long pivot = keys[middle];
+		final int pivotIndex = perm[middle];
+		keys[middle] = keys[start];
+		perm[middle] = perm[start];
+		int left = start + 1;
+		int right = end;
+		while (left != right) {
+			final long o = keys[left];
+			if (pivot < o) {
+				// Swap to right side, leaving that element to check next
+				right--;
+				keys[left] = keys[right];
+				keys[right] = o;
+				final int index = perm[left];
+				perm[left] = perm[right];
+				perm[right] = index;
+			} else {
+				left++;
 			}
+		}
+		final int pivotAt = left - 1;
+		keys[start] = keys[pivotAt];
+		perm[start] = perm[pivotAt];
+		keys[pivotAt] = pivot;
+		perm[pivotAt] = pivotIndex;
+		return pivotAt;
+	}
 
-			final Optional<? extends List<? extends Entry<?, String>>> sorted = performer.apply(fin);
-			if (!sorted.isPresent())
-				continue;
+	/**
+	 * @param keys
+	 * @param perm
+	 * @see #parallelQuicksort(List, Comparator)
+	 */
+	static void parallelQuicksort(final long[] keys, final int[] perm) {
+		parallelQuicksort(LEAF, keys, perm);
+	}
 
-			try (final PrintWriter out = new PrintWriter(fout.get())) {
-				final List<? extends Entry<?, String>> list = sorted.get();
-				(reverse
-					? IntStream.range(1 - list.size(), 1)
-					: IntStream.range(0, list.size())
-					)
-					.map(Math::abs)
-					.<Entry<?, String>>mapToObj(list::get)
-					.map(Entry::getValue)
-					.forEach(out::println);
-			} catch (IOException ex) {
-				log.log(
-					Level.SEVERE,
-					String.format("Could not write to %s", fout.get().getAbsolutePath()),
-					ex
-					);
+	/**
+	 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+	 * @param keys
+	 * @param perm
+	 * @see #parallelQuicksort(List, Comparator)
+	 */
+	static void parallelQuicksort(final int leaf, final long[] keys, final int[] perm) {
+		ForkJoinPool.commonPool().invoke(new LongTask(0, keys.length, depthLimit(keys.length), leaf, keys, perm));
+	}
+
+	/**
+	 * A sub-list of keys being quicksorted in parallel.
+	 */
+	static final class LongTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final int start;
+		final int end;
+		final int limit;
+		final int leaf;
+		final long[] keys;
+		final int[] perm;
+
+		LongTask(final int start, final int end, final int limit, final int leaf, final long[] keys, final int[] perm) {
+			this.start = start;
+			this.end = end;
+			this.limit = limit;
+			this.leaf = leaf;
+			this.keys = keys;
+			this.perm = perm;
+		}
+
+		/**
+		 * @see Task#compute()
+		 */
+		@Override
+		protected void compute() {
+			final Deque<LongTask> forked = new ArrayDeque<>();
+			int start = this.start;
+			int end = this.end;
+			int limit = this.limit;
+			for (; end - start > SEQUENTIAL && limit != 0; limit--) {
+				final long split = split(start, end, this.keys, this.perm, true);
+				final int lEnd = (int) (split >>> 32), rStart = (int) split;
+				final int smallStart, smallEnd;
+				if (lEnd - start < end - rStart) {
+					smallStart = start;
+					smallEnd = lEnd;
+					start = rStart;
+				} else {
+					smallStart = rStart;
+					smallEnd = end;
+					end = lEnd;
+				}
+				if (smallEnd - smallStart > SEQUENTIAL) {
+					final LongTask task = new LongTask(smallStart, smallEnd, limit - 1, this.leaf, this.keys, this.perm);
+					task.fork();
+					forked.push(task);
+				} else {
+					quicksort(smallStart, smallEnd, limit - 1, this.leaf, this.keys, this.perm);
+				}
+			}
+			quicksort(start, end, limit, this.leaf, this.keys, this.perm);
+			while (!forked.isEmpty()) {
+				forked.pop().join();
 			}
 		}
-		if (!("--".equals(token) || "-".equals(token) || token == null)) {
-			warnDangling(token);
+	}
+
+	/**
+	 * @see #parallelPartition(int, int, List, Comparator)
+	 */
+	static int parallelPartition(final int start, final int end, final long[] keys, final int[] perm) {
+		final int size = end - start;
+		final int middle = start + size / 2;
+		final long pivot = keys[middle];
+		final int pivotIndex = perm[middle];
+		keys[middle] = keys[start];
+		perm[middle] = perm[start];
+		final int blocks = (size - 1 + BLOCK - 1) / BLOCK;
+		final int[] lefts = new int[blocks + 1];
+		IntStream.range(0, blocks).parallel().forEach(b -> {
+			final int to = Math.min(size - 1, (b + 1) * BLOCK);
+			int count = 0;
+			for (int i = b * BLOCK; i < to; i++) {
+				if (keys[start + 1 + i] <= pivot) {
+					count++;
+				}
+			}
+			lefts[b + 1] = count;
+		});
+		for (int b = 0; b < blocks; b++) {
+			lefts[b + 1] += lefts[b];
 		}
+		final int lSize = lefts[blocks];
+		final long[] tempKeys = new long[size];
+		final int[] tempPerm = new int[size];
+		tempKeys[lSize] = pivot;
+		tempPerm[lSize] = pivotIndex;
+		IntStream.range(0, blocks).parallel().forEach(b -> {
+			final int to = Math.min(size - 1, (b + 1) * BLOCK);
+			int left = lefts[b];
+			int right = lSize + 1 + b * BLOCK - lefts[b];
+			for (int i = b * BLOCK; i < to; i++) {
+				final long key = keys[start + 1 + i];
+				final int at = key <= pivot ? left++ : right++;
+				tempKeys[at] = key;
+				tempPerm[at] = perm[start + 1 + i];
+			}
+		});
+		IntStream.range(0, blocks + 1).parallel().forEach(b -> {
+			final int from = b * BLOCK, length = Math.min(size - from, BLOCK);
+			if (length > 0) {
+				System.arraycopy(tempKeys, from, keys, start + from, length);
+				System.arraycopy(tempPerm, from, perm, start + from, length);
+			}
+		});
+		return start + lSize;
 	}
 
-	static void warnDangling(String token) {
-		log.warning(String.format(
-			"Dangling modifier! `%s'",
-			token
-			));
+	/**
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param keys
+	 * @param perm
+	 */
+	static void insertionSort(final int start, final int end, final long[] keys, final int[] perm) {
+		for (int i = start + 1; i < end; i++) {
+			final long key = keys[i];
+			final int index = perm[i];
+			int j = i;
+			for (; j > start && keys[j - 1] > key; j--) {
+				keys[j] = keys[j - 1];
+				perm[j] = perm[j - 1];
+			}
+			keys[j] = key;
+			perm[j] = index;
+		}
+	}
+
+	static <L, R> Entry<L, R> tuple(final L l, final R r) {
+		return new SimpleEntry<>(l, r);
+	}
+
+	static <T> T pop(final ListIterator<? extends T> l) {
+		final T o = l.previous();
+		l.remove();
+		return o;
 	}
 
-	private static Optional<File> makeOut(File fin) {
-		final String inName = fin.getName();
-		final int period = inName.lastIndexOf('.');
-		if (period == -1)
-			return empty();
-		return of(new File(
-			fin.getParentFile(),
-			inName.substring(0, period) + ".out" + inName.substring(period)
-			));
+	public static void main(String... args) {
+		if (args.length == 0) {
+			log.warning("No arguments specified");
+			return;
+		}
+		final FileSort options = new FileSort(log, Quicksort::quicksort, Quicksort::quicksort);
+		options.parallelSorter = Quicksort::parallelQuicksort;
+		options.parallelLongSorter = Quicksort::parallelQuicksort;
+		options.prefixSorter = Quicksort::quicksort;
+		options.parallelPrefixSorter = Quicksort::parallelQuicksort;
+		options.selector = Quicksort::select;
+		final FilePool files = new FilePool(log);
+		options.parse(files, HELP, (flag, it) -> {
+			switch (flag) {
+			case "-c": case "-C":
+				options.parameter(it, "`%s' is not a valid cutoff", leaf -> {
+					final Cutoff cutoff = new Cutoff(Integer.parseInt(leaf), false);
+					final Cutoff parallel = new Cutoff(cutoff.leaf, true);
+					options.sorter = cutoff;
+					options.longSorter = cutoff;
+					options.prefixSorter = cutoff;
+					options.parallelSorter = parallel;
+					options.parallelLongSorter = parallel;
+					options.parallelPrefixSorter = parallel;
+				});
+				return true;
+			default:
+				return false;
+			}
+		}, args);
+		files.run();
 	}
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Sorts primitive keys by their bytes, most significant first, instead of
+ * comparing them. Plaintext is sorted by the bytes of its prefixes, and
+ * other values that are not primitive are quicksorted.
+ */
+public class Radixsort {
+	static final Logger log = Logger.getLogger(Radixsort.class.getName());
+	/**
+	 * Buckets this size or smaller are insertion sorted
+	 */
+	static final int SMALL = 32;
+	/**
+	 * Buckets larger than this are sorted as separate fork/join tasks, when sorting in parallel
+	 */
+	static final int SEQUENTIAL = 1 << 16;
+	/**
+	 * Bits of each digit
+	 */
+	static final int DIGIT = 8;
+	/**
+	 * Shift of the most significant digit
+	 */
+	static final int TOP = Long.SIZE - DIGIT;
+	static final String HELP = FileSort.help(""
+			+ " toggles sorting the following files in parallel, using all processors\n"
+		+ "       "
+			+ " files in memory are also read in chunks, and parsed concurrently\n"
+		+ "       "
+			+ " large buckets are sorted concurrently\n"
+		, ""
+		+ "-c -C :"
+			+ " quicksort runs of equal prefixes, and values without keys, without partitioning\n"
+		+ "       "
+			+ " sub-lists of the next parameter elements or fewer; by default 16\n"
+		, true);
+
+	/**
+	 * Radix sort with a specified leaf cutoff for the quicksort of each run
+	 * of equal prefixes.
+	 *
+	 * @see Quicksort.Cutoff
+	 */
+	static final class Cutoff implements FileSort.PrefixSorter {
+		final int leaf;
+		final boolean parallel;
+
+		/**
+		 * @param leaf sub-lists this size or smaller are sorted without partitioning, at least 1
+		 * @param parallel if sorting in parallel
+		 */
+		Cutoff(final int leaf, final boolean parallel) {
+			this.leaf = leaf;
+			this.parallel = parallel;
+		}
+
+		@Override
+		public void sort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+			if (this.parallel) {
+				parallelRadixsort(prefixes, perm);
+			} else {
+				radixsort(prefixes, perm);
+			}
+			Quicksort.ties(prefixes, perm, ties, this.leaf, this.parallel);
+		}
+	}
+
+	/**
+	 * Radix sorts keys in-place, moving each element of perm with its key.
+	 * Keys are signed, so the sign bit is flipped in the most significant
+	 * digit, and then order the same as unsigned.
+	 *
+	 * @param keys
+	 * @param perm indices of the lines for each key
+	 */
+	static void radixsort(final long[] keys, final int[] perm) {
+		radixsort(0, keys.length, TOP, keys, perm, false);
+	}
+
+	/**
+	 * @param keys
+	 * @param perm
+	 * @see #radixsort(long[], int[])
+	 */
+	static void parallelRadixsort(final long[] keys, final int[] perm) {
+		ForkJoinPool.commonPool().invoke(new Bucket(0, keys.length, TOP, keys, perm));
+	}
+
+	/**
+	 * Radix sorts prefixes in-place, the same as {@link #radixsort(long[], int[])},
+	 * then quicksorts each run of equal prefixes by comparing their values.
+	 *
+	 * @param prefixes
+	 * @param perm indices of the values for each prefix
+	 * @param ties compares the values of two indices
+	 */
+	static void radixsort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+		radixsort(prefixes, perm);
+		Quicksort.ties(prefixes, perm, ties, false);
+	}
+
+	/**
+	 * @param prefixes
+	 * @param perm
+	 * @param ties
+	 * @see #radixsort(long[], int[], IntBinaryOperator)
+	 */
+	static void parallelRadixsort(final long[] prefixes, final int[] perm, final IntBinaryOperator ties) {
+		parallelRadixsort(prefixes, perm);
+		Quicksort.ties(prefixes, perm, ties, true);
+	}
+
+	/**
+	 * American flag sort: the keys of each digit are counted, giving each
+	 * digit a bucket, then each key is swapped into the next place of its
+	 * bucket, in place. Each bucket is then sorted by the next digit.
+	 * A digit that is the same for every key is skipped without moving keys.
+	 *
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param shift of the digit to sort by
+	 * @param keys
+	 * @param perm
+	 * @param parallel if large buckets should be sorted as separate fork/join tasks
+	 */
+	static void radixsort(final int start, final int end, int shift, final long[] keys, final int[] perm, final boolean parallel) {
+		if (end - start <= SMALL) {
+			Quicksort.insertionSort(start, end, keys, perm);
+			return;
+		}
+		final int[] next = new int[(1 << DIGIT) + 1];
+		for (;; shift -= DIGIT) {
+			Arrays.fill(next, 0);
+			for (int i = start; i < end; i++) {
+				next[digit(keys[i], shift) + 1]++;
+			}
+			if (next[digit(keys[start], shift) + 1] != end - start || shift == 0)
+				break;
+			// Every key has the same digit
+		}
+		// The start of each bucket
+		next[0] = start;
+		for (int b = 0; b < 1 << DIGIT; b++) {
+			next[b + 1] += next[b];
+		}
+		final int[] starts = next.clone();
+		for (int b = 0; b < 1 << DIGIT; b++) {
+			final int bucketEnd = starts[b + 1];
+			for (int i = next[b]; i < bucketEnd; i = ++next[b]) {
+				long key = keys[i];
+				int index = perm[i];
+				// Follow the cycle of keys, each to the next place in its bucket
+				for (int d; (d = digit(key, shift)) != b;) {
+					final int j = next[d]++;
+					final long swapKey = keys[j];
+					final int swapIndex = perm[j];
+					keys[j] = key;
+					perm[j] = index;
+					key = swapKey;
+					index = swapIndex;
+				}
+				keys[i] = key;
+				perm[i] = index;
+			}
+		}
+		if (shift == 0)
+			return;
+		final List<Bucket> forked = new ArrayList<>();
+		for (int b = 0; b < 1 << DIGIT; b++) {
+			final int bucketStart = starts[b], bucketEnd = starts[b + 1];
+			if (parallel && bucketEnd - bucketStart > SEQUENTIAL) {
+				forked.add(new Bucket(bucketStart, bucketEnd, shift - DIGIT, keys, perm));
+			} else if (bucketEnd - bucketStart > 1) {
+				radixsort(bucketStart, bucketEnd, shift - DIGIT, keys, perm, parallel);
+			}
+		}
+		if (!forked.isEmpty()) {
+			RecursiveAction.invokeAll(forked);
+		}
+	}
+
+	/**
+	 * @param key
+	 * @param shift of the digit
+	 * @return the digit, with the sign bit flipped in the most significant
+	 */
+	static int digit(final long key, final int shift) {
+		return (int) ((shift == TOP ? key ^ Long.MIN_VALUE : key) >>> shift) & (1 << DIGIT) - 1;
+	}
+
+	/**
+	 * A bucket of keys being radix sorted in parallel.
+	 */
+	static final class Bucket extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final int start;
+		final int end;
+		final int shift;
+		final long[] keys;
+		final int[] perm;
+
+		Bucket(final int start, final int end, final int shift, final long[] keys, final int[] perm) {
+			this.start = start;
+			this.end = end;
+			this.shift = shift;
+			this.keys = keys;
+			this.perm = perm;
+		}
+
+		@Override
+		protected void compute() {
+			radixsort(this.start, this.end, this.shift, this.keys, this.perm, true);
+		}
+	}
+
+	public static void main(String... args) {
+		if (args.length == 0) {
+			log.warning("No arguments specified");
+			return;
+		}
+		// Values that are not primitive can only be compared
+		final FileSort options = new FileSort(log, Quicksort::quicksort, Radixsort::radixsort);
+		options.parallelSorter = Quicksort::parallelQuicksort;
+		options.parallelLongSorter = Radixsort::parallelRadixsort;
+		options.prefixSorter = Radixsort::radixsort;
+		options.parallelPrefixSorter = Radixsort::parallelRadixsort;
+		options.selector = Quicksort::select;
+		final FilePool files = new FilePool(log);
+		options.parse(files, HELP, (flag, it) -> {
+			switch (flag) {
+			case "-c": case "-C":
+				options.parameter(it, "`%s' is not a valid cutoff", leaf -> {
+					final Quicksort.Cutoff cutoff = new Quicksort.Cutoff(Integer.parseInt(leaf), false);
+					options.sorter = cutoff;
+					options.parallelSorter = new Quicksort.Cutoff(cutoff.leaf, true);
+					options.prefixSorter = new Cutoff(cutoff.leaf, false);
+					options.parallelPrefixSorter = new Cutoff(cutoff.leaf, true);
+				});
+				return true;
+			default:
+				return false;
+			}
+		}, args);
+		files.run();
+	}
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Measures the time, allocation, and comparisons to sort. By default, each
+ * heap arity is compared, with and without primitive prefixes. With
+ * "sorts", heapsort and quicksort are compared by size, distribution, and
+ * type of value; with "small", foursort is compared to insertion sort.
+ */
+public class SortBenchmark {
+	/**
+	 * Children of each heap element, the first being the binary heap
+	 */
+	static final int[] ARITIES = { 2, 4, 8 };
+	/**
+	 * Ranges sorted in each round of the small benchmark
+	 */
+	static final int RANGES = 1 << 16;
+
+	/**
+	 * The kinds of lines that may be sorted
+	 */
+	enum Data {
+		/**
+		 * Random lowercase words of 1 to 16 characters
+		 */
+		STRINGS(FileSort.Format.STRING) {
+			@Override
+			String line(final Random random) {
+				final char[] chars = new char[1 + random.nextInt(16)];
+				for (int i = 0; i < chars.length; i++) {
+					chars[i] = (char) ('a' + random.nextInt(26));
+				}
+				return new String(chars);
+			}
+		},
+		/**
+		 * Random decimals of 20 significant digits, too many for primitive keys
+		 */
+		DECIMALS(FileSort.Format.DECIMAL) {
+			@Override
+			String line(final Random random) {
+				return new BigDecimal(random.nextLong()).scaleByPowerOfTen(-random.nextInt(10))
+					.add(BigDecimal.valueOf(random.nextInt(10), 20)).toString();
+			}
+		},
+		;
+
+		final FileSort.Format<?> format;
+
+		Data(final FileSort.Format<?> format) {
+			this.format = format;
+		}
+
+		/**
+		 * @param random source of lines
+		 * @return a line
+		 */
+		abstract String line(Random random);
+
+		/**
+		 * @param size number of lines
+		 * @return the lines
+		 */
+		List<String> lines(final int size) {
+			final Random random = new Random(ordinal());
+			final List<String> lines = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				lines.add(line(random));
+			}
+			return lines;
+		}
+	}
+
+	/**
+	 * The order of values before sorting, as a rank for each index
+	 */
+	enum Distribution {
+		RANDOM {
+			@Override
+			long rank(final int i, final int size, final Random random) {
+				return random.nextInt(Integer.MAX_VALUE);
+			}
+		},
+		SORTED {
+			@Override
+			long rank(final int i, final int size, final Random random) {
+				return i;
+			}
+		},
+		REVERSED {
+			@Override
+			long rank(final int i, final int size, final Random random) {
+				return size - i;
+			}
+		},
+		/**
+		 * Ascending to the middle, then descending
+		 */
+		ORGAN_PIPE {
+			@Override
+			long rank(final int i, final int size, final Random random) {
+				return Math.min(i, size - i);
+			}
+		},
+		/**
+		 * 16 distinct values, at random
+		 */
+		FEW_UNIQUE {
+			@Override
+			long rank(final int i, final int size, final Random random) {
+				return random.nextInt(16);
+			}
+		},
+		/**
+		 * 16 ascending runs
+		 */
+		SAWTOOTH {
+			@Override
+			long rank(final int i, final int size, final Random random) {
+				return i % Math.max(size / 16, 1);
+			}
+		},
+		;
+
+		/**
+		 * @param i index of the value
+		 * @param size number of values
+		 * @param random source of random ranks
+		 * @return the rank of the value at i
+		 */
+		abstract long rank(int i, int size, Random random);
+	}
+
+	/**
+	 * The values of tuples, the same as a parsed line and the line
+	 */
+	enum Type {
+		STRING {
+			@Override
+			Comparable<?> value(final String line) {
+				return line;
+			}
+		},
+		BIGINTEGER {
+			@Override
+			Comparable<?> value(final String line) {
+				return new BigInteger(line);
+			}
+		},
+		BIGDECIMAL {
+			@Override
+			Comparable<?> value(final String line) {
+				return new BigDecimal(line).scaleByPowerOfTen(-3);
+			}
+		},
+		;
+
+		/**
+		 * @param line the rank of the value, zero-padded so plaintext is in the same order
+		 * @return the value
+		 */
+		abstract Comparable<?> value(String line);
+
+		/**
+		 * @param distribution the order of the values
+		 * @param size number of values
+		 * @return a tuple of each value and its line
+		 */
+		List<Entry<Comparable<?>, String>> tuples(final Distribution distribution, final int size) {
+			final Random random = new Random(distribution.ordinal());
+			final List<Entry<Comparable<?>, String>> tuples = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				final String line = String.format("%010d", distribution.rank(i, size, random));
+				tuples.add(new SimpleEntry<>(value(line), line));
+			}
+			return tuples;
+		}
+	}
+
+	/**
+	 * The sorts compared by size, distribution, and type
+	 */
+	enum Algorithm {
+		HEAPSORT(Heapsort::heapsort),
+		QUICKSORT(Quicksort::quicksort),
+		;
+
+		final FileSort.Sorter sorter;
+
+		Algorithm(final FileSort.Sorter sorter) {
+			this.sorter = sorter;
+		}
+	}
+
+	/**
+	 * The mean and standard deviation of time for each element, and allocation for each element
+	 */
+	static final class Timing {
+		final double mean;
+		final double deviation;
+		/**
+		 * Bytes allocated for each element, or NaN if not supported
+		 */
+		final double bytes;
+
+		Timing(final double mean, final double deviation, final double bytes) {
+			this.mean = mean;
+			this.deviation = deviation;
+			this.bytes = bytes;
+		}
+
+		String bytes() {
+			return Double.isNaN(this.bytes) ? "n/a" : String.format("%.1f", this.bytes);
+		}
+	}
+
+	/**
+	 * Consumes results, so sorts are not optimized away
+	 */
+	static volatile Object sink;
+
+	/**
+	 * Runs every combination, printing one line for each
+	 *
+	 * @param args optionally "arity", "sorts", or "small", then the warmup rounds, measured rounds, and
+	 *        lines to sort (the largest size, for sorts)
+	 */
+	public static void main(final String...args) {
+		final boolean named = args.length > 0 && !Character.isDigit(args[0].charAt(0));
+		final String mode = named ? args[0] : "arity";
+		final int first = named ? 1 : 0;
+		final int warmup = args.length > first ? Integer.parseInt(args[first]) : 5;
+		final int rounds = args.length > first + 1 ? Integer.parseInt(args[first + 1]) : 10;
+		switch (mode) {
+		case "arity":
+			arities(warmup, rounds, args.length > first + 2 ? Integer.parseInt(args[first + 2]) : 1 << 18);
+			break;
+		case "sorts":
+			sorts(warmup, rounds, args.length > first + 2 ? Integer.parseInt(args[first + 2]) : 100000);
+			break;
+		case "small":
+			small(warmup, rounds);
+			break;
+		default:
+			throw new IllegalArgumentException(String.format("`%s' is not arity, sorts, or small", mode));
+		}
+	}
+
+	/**
+	 * Heapsorts lines by each arity, with and without prefixes.
+	 */
+	static void arities(final int warmup, final int rounds, final int size) {
+		System.out.println(String.format(
+			"%-9s %-6s %-7s %12s %10s %12s",
+			"data", "arity", "prefix", "ns/line", "+-", "bytes/line"
+			));
+		for (final Data data : Data.values()) {
+			final List<String> lines = data.lines(size);
+			for (final int arity : ARITIES) {
+				for (final boolean prefixed : new boolean[] { false, true }) {
+					final FileSort options = new FileSort(null, null, null);
+					final Heapsort.DaryHeap heap = new Heapsort.DaryHeap(arity);
+					options.sorter = heap;
+					options.prefixSorter = prefixed ? heap : null;
+					options.prefixed = prefixed;
+					final Timing timing = time(warmup, rounds, size, () -> () -> round(options, lines, data.format));
+					System.out.println(String.format(
+						"%-9s %-6s %-7s %12.1f %10.1f %12s",
+						data,
+						arity,
+						prefixed,
+						timing.mean,
+						timing.deviation,
+						timing.bytes()
+						));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sorts tuples by each algorithm, for sizes from 1000 by powers of 10.
+	 * Comparisons are counted in a separate round, so counting is not timed.
+	 */
+	static void sorts(final int warmup, final int rounds, final int largest) {
+		System.out.println(String.format(
+			"%-9s %-10s %-10s %9s %10s %8s %11s %9s",
+			"algorithm", "type", "order", "size", "ns/elem", "+-", "bytes/elem", "cmp/elem"
+			));
+		for (final Type type : Type.values()) {
+			for (final Distribution distribution : Distribution.values()) {
+				for (int size = 1000; size <= largest; size *= 10) {
+					final List<Entry<Comparable<?>, String>> tuples = type.tuples(distribution, size);
+					final Comparator<Entry<Comparable<?>, String>> order = Entry.comparingByKey(SortBenchmark::compare);
+					for (final Algorithm algorithm : Algorithm.values()) {
+						final Timing timing = time(warmup, rounds, size, () -> {
+							final List<Entry<Comparable<?>, String>> copy = new ArrayList<>(tuples);
+							sink = copy;
+							return () -> algorithm.sorter.sort(copy, order);
+						});
+						final long[] comparisons = { 0 };
+						algorithm.sorter.sort(new ArrayList<>(tuples), (a, b) -> {
+							comparisons[0]++;
+							return order.compare(a, b);
+						});
+						System.out.println(String.format(
+							"%-9s %-10s %-10s %9d %10.1f %8.1f %11s %9.2f",
+							algorithm,
+							type,
+							distribution,
+							size,
+							timing.mean,
+							timing.deviation,
+							timing.bytes(),
+							(double) comparisons[0] / size
+							));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sorts ranges of 2 to 4 elements, by foursort and by insertion sort.
+	 * Time is for each range, of random permutations; comparisons are the
+	 * least, mean, and most, over every permutation of distinct elements.
+	 */
+	static void small(final int warmup, final int rounds) {
+		System.out.println(String.format(
+			"%-9s %-4s %10s %8s %11s %14s",
+			"sort", "size", "ns/range", "+-", "bytes/range", "cmp min/avg/max"
+			));
+		for (int size = 2; size <= 4; size++) {
+			final Random random = new Random(size);
+			final List<Integer> ranges = new ArrayList<>(RANGES * size);
+			for (int i = 0; i < RANGES; i++) {
+				final List<Integer> permutation = new ArrayList<>();
+				for (int j = 0; j < size; j++) {
+					permutation.add(j);
+				}
+				Collections.shuffle(permutation, random);
+				ranges.addAll(permutation);
+			}
+			final List<List<Integer>> permutations = permutations(size);
+			for (final boolean four : new boolean[] { true, false }) {
+				final int n = size;
+				final Timing timing = time(warmup, rounds, RANGES, () -> {
+					final List<Integer> copy = new ArrayList<>(ranges);
+					sink = copy;
+					return () -> {
+						for (int start = 0; start < copy.size(); start += n) {
+							smallSort(four, start, start + n, copy, Integer::compare);
+						}
+					};
+				});
+				int least = Integer.MAX_VALUE, most = 0, sum = 0;
+				for (final List<Integer> permutation : permutations) {
+					final int[] comparisons = { 0 };
+					smallSort(four, 0, n, new ArrayList<>(permutation), (a, b) -> {
+						comparisons[0]++;
+						return Integer.compare(a, b);
+					});
+					least = Math.min(least, comparisons[0]);
+					most = Math.max(most, comparisons[0]);
+					sum += comparisons[0];
+				}
+				System.out.println(String.format(
+					"%-9s %-4s %10.1f %8.1f %11s %14s",
+					four ? "foursort" : "insertion",
+					size,
+					timing.mean,
+					timing.deviation,
+					timing.bytes(),
+					String.format("%d/%.2f/%d", least, (double) sum / permutations.size(), most)
+					));
+			}
+		}
+	}
+
+	static <T> void smallSort(final boolean four, final int start, final int end, final List<T> l, final Comparator<? super T> c) {
+		if (four) {
+			Quicksort.foursort(start, end, l, c);
+		} else {
+			Quicksort.insertionSort(start, end, l, c);
+		}
+	}
+
+	/**
+	 * @param size number of elements
+	 * @return every permutation of 0 until size
+	 */
+	static List<List<Integer>> permutations(final int size) {
+		final List<List<Integer>> permutations = new ArrayList<>();
+		if (size == 0) {
+			permutations.add(new ArrayList<>());
+			return permutations;
+		}
+		for (final List<Integer> shorter : permutations(size - 1)) {
+			for (int i = 0; i <= shorter.size(); i++) {
+				final List<Integer> permutation = new ArrayList<>(shorter);
+				permutation.add(i, size - 1);
+				permutations.add(permutation);
+			}
+		}
+		return permutations;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static int compare(final Comparable a, final Comparable b) {
+		return a.compareTo(b);
+	}
+
+	/**
+	 * Times rounds, after warming up, each prepared before it is timed.
+	 *
+	 * @param size elements sorted in each round
+	 * @param round prepares a round, returning the work to time
+	 * @return the time and allocation for each element
+	 */
+	static Timing time(final int warmup, final int rounds, final int size, final Supplier<Runnable> round) {
+		final LongSupplier allocation = allocationCounter();
+		for (int i = 0; i < warmup; i++) {
+			round.get().run();
+		}
+		double sum = 0, squares = 0;
+		long bytes = 0;
+		for (int i = 0; i < rounds; i++) {
+			final Runnable work = round.get();
+			final long allocated = allocation == null ? 0 : allocation.getAsLong();
+			final long start = System.nanoTime();
+			work.run();
+			final double nanos = (double) (System.nanoTime() - start) / size;
+			if (allocation != null) {
+				bytes += allocation.getAsLong() - allocated;
+			}
+			sum += nanos;
+			squares += nanos * nanos;
+		}
+		final double mean = sum / rounds;
+		return new Timing(
+			mean,
+			Math.sqrt(Math.max(0, squares / rounds - mean * mean)),
+			allocation == null ? Double.NaN : (double) bytes / rounds / size
+			);
+	}
+
+	/**
+	 * Parses and sorts the lines once, the same as an in-memory file sort
+	 */
+	static void round(final FileSort options, final List<String> lines, final FileSort.Format<?> format) {
+		sink = options.sort(lines, format);
+	}
+
+	/**
+	 * The bean is looked up by name, as com.sun.management is not part of
+	 * every Java platform; a method handle reads it without allocating.
+	 *
+	 * @return the bytes allocated by the calling thread so far, or null if not supported
+	 */
+	static LongSupplier allocationCounter() {
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		try {
+			final Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+			if (!type.isInstance(threads))
+				return null;
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			if (!(boolean) lookup.findVirtual(type, "isThreadAllocatedMemorySupported", MethodType.methodType(boolean.class)).invoke(threads))
+				return null;
+			lookup.findVirtual(type, "setThreadAllocatedMemoryEnabled", MethodType.methodType(void.class, boolean.class)).invoke(threads, true);
+			final MethodHandle allocated = lookup
+				.findVirtual(type, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class))
+				.bindTo(threads);
+			return () -> {
+				try {
+					return (long) allocated.invokeExact(Thread.currentThread().getId());
+				} catch (final Throwable ex) {
+					throw new IllegalStateException(ex);
+				}
+			};
+		} catch (final Throwable ex) {
+			// Not supported on this platform
+			return null;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * The time of each phase of sorting a file, the comparisons of parsed
+ * values or lines, and the peak heap. Primitive keys and prefixes are
+ * compared directly by the algorithm, so comparisons are null when they
+ * are sorted, and only the ties of prefixes are counted.
+ * A phase that never ended, like parsing while lines are read, is null.
+ */
+final class SortStats {
+	/**
+	 * Parts of sorting a file, each timed from the end of the last
+	 */
+	enum Phase {
+		READ,
+		PARSE,
+		SORT,
+		WRITE,
+	}
+
+	final File file;
+	final long[] nanos = new long[Phase.values().length];
+	final boolean[] ended = new boolean[Phase.values().length];
+	final LongAdder comparisons = new LongAdder();
+	/**
+	 * Comparisons of the values of equal prefixes
+	 */
+	final LongAdder ties = new LongAdder();
+	/**
+	 * If primitive keys or prefixes were sorted, which are not counted
+	 */
+	boolean keyed = false;
+	/**
+	 * Lines sorted, or -1 if not counted
+	 */
+	long lines = -1;
+	private final long start;
+	private long mark;
+
+	/**
+	 * Starts timing, from the lowest heap usage of each pool if reset.
+	 *
+	 * @param file file being sorted
+	 * @param reset if the peak heap is only of this file, as no other file is sorted at the same time
+	 */
+	SortStats(final File file, final boolean reset) {
+		this.file = file;
+		if (reset) {
+			resetPeakHeap();
+		}
+		this.start = this.mark = System.nanoTime();
+	}
+
+	/**
+	 * Starts the peak heap from the current usage of each pool.
+	 */
+	static void resetPeakHeap() {
+		for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	/**
+	 * @param phase the phase that has ended, since the last phase ended
+	 */
+	void end(final Phase phase) {
+		final long now = System.nanoTime();
+		this.nanos[phase.ordinal()] += now - this.mark;
+		this.ended[phase.ordinal()] = true;
+		this.mark = now;
+	}
+
+	/**
+	 * @return true if the sorted file was written
+	 */
+	boolean written() {
+		return this.ended[Phase.WRITE.ordinal()];
+	}
+
+	/**
+	 * @param comparator compares values, possibly concurrently
+	 * @return the same comparator, counted
+	 */
+	<T> Comparator<T> count(final Comparator<T> comparator) {
+		return (a, b) -> {
+			this.comparisons.increment();
+			return comparator.compare(a, b);
+		};
+	}
+
+	/**
+	 * @param ties compares the values of two indices with equal prefixes, possibly concurrently
+	 * @return the same comparison, counted as ties of the prefixes being sorted
+	 */
+	IntBinaryOperator countTies(final IntBinaryOperator ties) {
+		this.keyed = true;
+		return (a, b) -> {
+			this.ties.increment();
+			return ties.applyAsInt(a, b);
+		};
+	}
+
+	/**
+	 * Comparing sorts take about n log2(n) comparisons; quadratic sorts
+	 * take many more, growing with n.
+	 *
+	 * @return the comparisons, for n log2(n) of the lines
+	 */
+	double comparisonRatio() {
+		if (this.lines < 2)
+			return 0;
+		return this.comparisons.doubleValue() / (this.lines * (Math.log(this.lines) / Math.log(2)));
+	}
+
+	/**
+	 * The peak of each pool may be at a different time, so this is at most
+	 * the sum. The peaks are of the whole process: when files are sorted
+	 * concurrently, they are not reset for each file, and are the peaks of
+	 * every file since the first started.
+	 *
+	 * @return the bytes used by the heap at its peak since last reset
+	 */
+	static long peakHeap() {
+		long peak = 0;
+		for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	/**
+	 * @return the statistics as a line of JSON, ending the timing
+	 */
+	String json() {
+		final long total = System.nanoTime() - this.start;
+		final StringBuilder json = new StringBuilder("{\"file\":");
+		quote(json, this.file.getPath());
+		json.append(",\"lines\":").append(this.lines < 0 ? "null" : Long.toString(this.lines));
+		for (final Phase phase : Phase.values()) {
+			json
+				.append(",\"")
+				.append(phase.name().toLowerCase(Locale.ROOT))
+				.append("_ms\":")
+				.append(this.ended[phase.ordinal()] ? millis(this.nanos[phase.ordinal()]) : "null");
+		}
+		json.append(",\"total_ms\":").append(millis(total));
+		json.append(",\"lines_per_sec\":").append(this.lines < 0 || total == 0
+			? "null"
+			: String.format(Locale.ROOT, "%.0f", this.lines * 1e9 / total));
+		json.append(",\"comparisons\":").append(this.keyed ? "null" : Long.toString(this.comparisons.sum()));
+		json.append(",\"comparisons_per_nlog2n\":").append(this.keyed ? "null" : String.format(Locale.ROOT, "%.3f", comparisonRatio()));
+		json.append(",\"tie_comparisons\":").append(this.keyed ? Long.toString(this.ties.sum()) : "null");
+		json.append(",\"peak_heap_bytes\":").append(peakHeap());
+		return json.append('}').toString();
+	}
+
+	private static String millis(final long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	private static void quote(final StringBuilder json, final String s) {
+		json.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+}
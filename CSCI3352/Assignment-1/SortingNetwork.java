@@ -0,0 +1,1123 @@
+/*
+ * Copyright (C) 2015  Wesley Wolfe
+ * Works provided with supplemented terms, outlined in accompanying
+ * documentation, or found at https://github.com/Wolvereness/UHCL-ScholWork
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorting networks of 2 to 16 elements, as straight-line code.
+ * Generated by {@link NetworkGenerator}; do not edit.
+ * <pre>
+ * elements comparators depth
+ *        2           1     1
+ *        3           3     3
+ *        4           5     3
+ *        5           9     5
+ *        6          12     6
+ *        7          16     6
+ *        8          19     6
+ *        9          25     8
+ *       10          29     8
+ *       11          35     9
+ *       12          39     9
+ *       13          46    10
+ *       14          51    10
+ *       15          56    10
+ *       16          60    10
+ * </pre>
+ */
+final class SortingNetwork {
+	/**
+	 * The most elements sorted by a network
+	 */
+	static final int MAX = 16;
+
+	/**
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param keys
+	 * @param perm
+	 * @throws IllegalArgumentException for more than {@link #MAX} elements, or end smaller than start
+	 */
+	static void sort(final int start, final int end, final long[] keys, final int[] perm) throws IllegalArgumentException {
+		switch (end - start) {
+		case 0:
+		case 1:
+			return;
+		case 2:
+			sort2(start, keys, perm);
+			return;
+		case 3:
+			sort3(start, keys, perm);
+			return;
+		case 4:
+			sort4(start, keys, perm);
+			return;
+		case 5:
+			sort5(start, keys, perm);
+			return;
+		case 6:
+			sort6(start, keys, perm);
+			return;
+		case 7:
+			sort7(start, keys, perm);
+			return;
+		case 8:
+			sort8(start, keys, perm);
+			return;
+		case 9:
+			sort9(start, keys, perm);
+			return;
+		case 10:
+			sort10(start, keys, perm);
+			return;
+		case 11:
+			sort11(start, keys, perm);
+			return;
+		case 12:
+			sort12(start, keys, perm);
+			return;
+		case 13:
+			sort13(start, keys, perm);
+			return;
+		case 14:
+			sort14(start, keys, perm);
+			return;
+		case 15:
+			sort15(start, keys, perm);
+			return;
+		case 16:
+			sort16(start, keys, perm);
+			return;
+		default:
+			throw new IllegalArgumentException(String.format(
+				"Interval [%s,%s) is not 0 to %s elements!",
+				start,
+				end,
+				MAX
+				));
+		}
+	}
+
+	/**
+	 * @param start inclusive
+	 * @param end exclusive
+	 * @param l
+	 * @param c
+	 * @throws IllegalArgumentException for more than {@link #MAX} elements, or end smaller than start
+	 */
+	static <T> void sort(final int start, final int end, final List<T> l, final Comparator<? super T> c) throws IllegalArgumentException {
+		switch (end - start) {
+		case 0:
+		case 1:
+			return;
+		case 2:
+			sort2(start, l, c);
+			return;
+		case 3:
+			sort3(start, l, c);
+			return;
+		case 4:
+			sort4(start, l, c);
+			return;
+		case 5:
+			sort5(start, l, c);
+			return;
+		case 6:
+			sort6(start, l, c);
+			return;
+		case 7:
+			sort7(start, l, c);
+			return;
+		case 8:
+			sort8(start, l, c);
+			return;
+		case 9:
+			sort9(start, l, c);
+			return;
+		case 10:
+			sort10(start, l, c);
+			return;
+		case 11:
+			sort11(start, l, c);
+			return;
+		case 12:
+			sort12(start, l, c);
+			return;
+		case 13:
+			sort13(start, l, c);
+			return;
+		case 14:
+			sort14(start, l, c);
+			return;
+		case 15:
+			sort15(start, l, c);
+			return;
+		case 16:
+			sort16(start, l, c);
+			return;
+		default:
+			throw new IllegalArgumentException(String.format(
+				"Interval [%s,%s) is not 0 to %s elements!",
+				start,
+				end,
+				MAX
+				));
+		}
+	}
+
+	/**
+	 * Exchanges two keys, and their indices, if the first is greater,
+	 * without branching. The sign of the difference decides, corrected
+	 * for overflow, as a mask of all 1s to exchange or all 0s to keep.
+	 *
+	 * @param i the lower index
+	 * @param j the higher index
+	 * @param keys
+	 * @param perm
+	 */
+	static void exchange(final int i, final int j, final long[] keys, final int[] perm) {
+		final long a = keys[i], b = keys[j], d = b - a;
+		// -1 if b < a, otherwise 0
+		final long mask = (d ^ ((b ^ a) & (d ^ b))) >> 63;
+		final long key = (a ^ b) & mask;
+		keys[i] = a ^ key;
+		keys[j] = b ^ key;
+		final int p = perm[i], q = perm[j];
+		final int index = (p ^ q) & (int) mask;
+		perm[i] = p ^ index;
+		perm[j] = q ^ index;
+	}
+
+	/**
+	 * @param i the lower index
+	 * @param j the higher index
+	 * @param l
+	 * @param c
+	 */
+	static <T> void exchange(final int i, final int j, final List<T> l, final Comparator<? super T> c) {
+		final T a = l.get(i), b = l.get(j);
+		if (c.compare(a, b) > 0) {
+			l.set(i, b);
+			l.set(j, a);
+		}
+	}
+
+	static void sort2(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 1, keys, perm);
+	}
+
+	static void sort3(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+	}
+
+	static void sort4(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+	}
+
+	static void sort5(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 4, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+	}
+
+	static void sort6(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 4, keys, perm);
+		exchange(start + 1, start + 5, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+	}
+
+	static void sort7(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 4, keys, perm);
+		exchange(start + 1, start + 5, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+	}
+
+	static void sort8(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 4, keys, perm);
+		exchange(start + 1, start + 5, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 3, start + 7, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+	}
+
+	static void sort9(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 8, keys, perm);
+		exchange(start + 2, start + 7, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 5, start + 8, keys, perm);
+		exchange(start + 0, start + 3, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 1, start + 5, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 8, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+	}
+
+	static void sort10(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 8, keys, perm);
+		exchange(start + 1, start + 9, keys, perm);
+		exchange(start + 2, start + 7, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 5, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 0, start + 3, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 6, start + 9, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 1, start + 5, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 8, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+	}
+
+	static void sort11(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 8, keys, perm);
+		exchange(start + 1, start + 7, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 4, start + 10, keys, perm);
+		exchange(start + 5, start + 9, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 5, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 6, start + 9, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 6, keys, perm);
+		exchange(start + 5, start + 10, keys, perm);
+		exchange(start + 0, start + 3, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 10, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 2, start + 5, keys, perm);
+		exchange(start + 6, start + 9, keys, perm);
+		exchange(start + 8, start + 10, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+	}
+
+	static void sort12(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 8, keys, perm);
+		exchange(start + 1, start + 7, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 3, start + 11, keys, perm);
+		exchange(start + 4, start + 10, keys, perm);
+		exchange(start + 5, start + 9, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 5, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 6, start + 9, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 10, start + 11, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 6, keys, perm);
+		exchange(start + 5, start + 10, keys, perm);
+		exchange(start + 9, start + 11, keys, perm);
+		exchange(start + 0, start + 3, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 8, start + 11, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 10, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 2, start + 5, keys, perm);
+		exchange(start + 6, start + 9, keys, perm);
+		exchange(start + 8, start + 10, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+	}
+
+	static void sort13(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 1, start + 12, keys, perm);
+		exchange(start + 4, start + 8, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 11, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 0, start + 5, keys, perm);
+		exchange(start + 1, start + 7, keys, perm);
+		exchange(start + 2, start + 9, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 11, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 4, start + 10, keys, perm);
+		exchange(start + 5, start + 11, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 12, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 8, start + 10, keys, perm);
+		exchange(start + 9, start + 11, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 5, start + 8, keys, perm);
+		exchange(start + 7, start + 10, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 9, start + 12, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 12, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+	}
+
+	static void sort14(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 13, keys, perm);
+		exchange(start + 1, start + 12, keys, perm);
+		exchange(start + 4, start + 8, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 11, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 0, start + 5, keys, perm);
+		exchange(start + 1, start + 7, keys, perm);
+		exchange(start + 2, start + 9, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 6, start + 13, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 11, keys, perm);
+		exchange(start + 12, start + 13, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 4, start + 10, keys, perm);
+		exchange(start + 5, start + 11, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 12, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 8, start + 10, keys, perm);
+		exchange(start + 9, start + 11, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 5, start + 8, keys, perm);
+		exchange(start + 7, start + 10, keys, perm);
+		exchange(start + 9, start + 13, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 9, start + 12, keys, perm);
+		exchange(start + 11, start + 13, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 12, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+	}
+
+	static void sort15(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 13, keys, perm);
+		exchange(start + 1, start + 12, keys, perm);
+		exchange(start + 3, start + 14, keys, perm);
+		exchange(start + 4, start + 8, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 11, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 0, start + 5, keys, perm);
+		exchange(start + 1, start + 7, keys, perm);
+		exchange(start + 2, start + 9, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 6, start + 13, keys, perm);
+		exchange(start + 8, start + 14, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 11, keys, perm);
+		exchange(start + 12, start + 13, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 4, start + 10, keys, perm);
+		exchange(start + 5, start + 11, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 12, start + 14, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 12, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 8, start + 10, keys, perm);
+		exchange(start + 9, start + 11, keys, perm);
+		exchange(start + 13, start + 14, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 5, start + 8, keys, perm);
+		exchange(start + 7, start + 10, keys, perm);
+		exchange(start + 9, start + 13, keys, perm);
+		exchange(start + 11, start + 14, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 9, start + 12, keys, perm);
+		exchange(start + 11, start + 13, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 12, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+	}
+
+	static void sort16(final int start, final long[] keys, final int[] perm) {
+		exchange(start + 0, start + 13, keys, perm);
+		exchange(start + 1, start + 12, keys, perm);
+		exchange(start + 2, start + 15, keys, perm);
+		exchange(start + 3, start + 14, keys, perm);
+		exchange(start + 4, start + 8, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 11, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 0, start + 5, keys, perm);
+		exchange(start + 1, start + 7, keys, perm);
+		exchange(start + 2, start + 9, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 6, start + 13, keys, perm);
+		exchange(start + 8, start + 14, keys, perm);
+		exchange(start + 10, start + 15, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 0, start + 1, keys, perm);
+		exchange(start + 2, start + 3, keys, perm);
+		exchange(start + 4, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 11, keys, perm);
+		exchange(start + 12, start + 13, keys, perm);
+		exchange(start + 14, start + 15, keys, perm);
+		exchange(start + 0, start + 2, keys, perm);
+		exchange(start + 1, start + 3, keys, perm);
+		exchange(start + 4, start + 10, keys, perm);
+		exchange(start + 5, start + 11, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+		exchange(start + 12, start + 14, keys, perm);
+		exchange(start + 13, start + 15, keys, perm);
+		exchange(start + 1, start + 2, keys, perm);
+		exchange(start + 3, start + 12, keys, perm);
+		exchange(start + 4, start + 6, keys, perm);
+		exchange(start + 5, start + 7, keys, perm);
+		exchange(start + 8, start + 10, keys, perm);
+		exchange(start + 9, start + 11, keys, perm);
+		exchange(start + 13, start + 14, keys, perm);
+		exchange(start + 1, start + 4, keys, perm);
+		exchange(start + 2, start + 6, keys, perm);
+		exchange(start + 5, start + 8, keys, perm);
+		exchange(start + 7, start + 10, keys, perm);
+		exchange(start + 9, start + 13, keys, perm);
+		exchange(start + 11, start + 14, keys, perm);
+		exchange(start + 2, start + 4, keys, perm);
+		exchange(start + 3, start + 6, keys, perm);
+		exchange(start + 9, start + 12, keys, perm);
+		exchange(start + 11, start + 13, keys, perm);
+		exchange(start + 3, start + 5, keys, perm);
+		exchange(start + 6, start + 8, keys, perm);
+		exchange(start + 7, start + 9, keys, perm);
+		exchange(start + 10, start + 12, keys, perm);
+		exchange(start + 3, start + 4, keys, perm);
+		exchange(start + 5, start + 6, keys, perm);
+		exchange(start + 7, start + 8, keys, perm);
+		exchange(start + 9, start + 10, keys, perm);
+		exchange(start + 11, start + 12, keys, perm);
+		exchange(start + 6, start + 7, keys, perm);
+		exchange(start + 8, start + 9, keys, perm);
+	}
+
+	static <T> void sort2(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 1, l, c);
+	}
+
+	static <T> void sort3(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 1, start + 2, l, c);
+	}
+
+	static <T> void sort4(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 1, start + 2, l, c);
+	}
+
+	static <T> void sort5(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 4, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 4, l, c);
+	}
+
+	static <T> void sort6(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 4, l, c);
+		exchange(start + 1, start + 5, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 4, l, c);
+	}
+
+	static <T> void sort7(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 4, l, c);
+		exchange(start + 1, start + 5, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+	}
+
+	static <T> void sort8(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 4, l, c);
+		exchange(start + 1, start + 5, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 3, start + 7, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+	}
+
+	static <T> void sort9(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 8, l, c);
+		exchange(start + 2, start + 7, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 5, start + 8, l, c);
+		exchange(start + 0, start + 3, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 1, start + 5, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 8, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+	}
+
+	static <T> void sort10(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 8, l, c);
+		exchange(start + 1, start + 9, l, c);
+		exchange(start + 2, start + 7, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 5, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 0, start + 3, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 6, start + 9, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 1, start + 5, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 8, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+	}
+
+	static <T> void sort11(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 8, l, c);
+		exchange(start + 1, start + 7, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 4, start + 10, l, c);
+		exchange(start + 5, start + 9, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 5, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 6, start + 9, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 6, l, c);
+		exchange(start + 5, start + 10, l, c);
+		exchange(start + 0, start + 3, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 10, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 2, start + 5, l, c);
+		exchange(start + 6, start + 9, l, c);
+		exchange(start + 8, start + 10, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+	}
+
+	static <T> void sort12(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 8, l, c);
+		exchange(start + 1, start + 7, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 3, start + 11, l, c);
+		exchange(start + 4, start + 10, l, c);
+		exchange(start + 5, start + 9, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 5, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 6, start + 9, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 10, start + 11, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 6, l, c);
+		exchange(start + 5, start + 10, l, c);
+		exchange(start + 9, start + 11, l, c);
+		exchange(start + 0, start + 3, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 8, start + 11, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 10, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 2, start + 5, l, c);
+		exchange(start + 6, start + 9, l, c);
+		exchange(start + 8, start + 10, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+	}
+
+	static <T> void sort13(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 1, start + 12, l, c);
+		exchange(start + 4, start + 8, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 11, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 0, start + 5, l, c);
+		exchange(start + 1, start + 7, l, c);
+		exchange(start + 2, start + 9, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 11, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 4, start + 10, l, c);
+		exchange(start + 5, start + 11, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 12, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 8, start + 10, l, c);
+		exchange(start + 9, start + 11, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 5, start + 8, l, c);
+		exchange(start + 7, start + 10, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 9, start + 12, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 12, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+	}
+
+	static <T> void sort14(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 13, l, c);
+		exchange(start + 1, start + 12, l, c);
+		exchange(start + 4, start + 8, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 11, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 0, start + 5, l, c);
+		exchange(start + 1, start + 7, l, c);
+		exchange(start + 2, start + 9, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 6, start + 13, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 11, l, c);
+		exchange(start + 12, start + 13, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 4, start + 10, l, c);
+		exchange(start + 5, start + 11, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 12, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 8, start + 10, l, c);
+		exchange(start + 9, start + 11, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 5, start + 8, l, c);
+		exchange(start + 7, start + 10, l, c);
+		exchange(start + 9, start + 13, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 9, start + 12, l, c);
+		exchange(start + 11, start + 13, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 12, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+	}
+
+	static <T> void sort15(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 13, l, c);
+		exchange(start + 1, start + 12, l, c);
+		exchange(start + 3, start + 14, l, c);
+		exchange(start + 4, start + 8, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 11, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 0, start + 5, l, c);
+		exchange(start + 1, start + 7, l, c);
+		exchange(start + 2, start + 9, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 6, start + 13, l, c);
+		exchange(start + 8, start + 14, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 11, l, c);
+		exchange(start + 12, start + 13, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 4, start + 10, l, c);
+		exchange(start + 5, start + 11, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 12, start + 14, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 12, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 8, start + 10, l, c);
+		exchange(start + 9, start + 11, l, c);
+		exchange(start + 13, start + 14, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 5, start + 8, l, c);
+		exchange(start + 7, start + 10, l, c);
+		exchange(start + 9, start + 13, l, c);
+		exchange(start + 11, start + 14, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 9, start + 12, l, c);
+		exchange(start + 11, start + 13, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 12, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+	}
+
+	static <T> void sort16(final int start, final List<T> l, final Comparator<? super T> c) {
+		exchange(start + 0, start + 13, l, c);
+		exchange(start + 1, start + 12, l, c);
+		exchange(start + 2, start + 15, l, c);
+		exchange(start + 3, start + 14, l, c);
+		exchange(start + 4, start + 8, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 11, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 0, start + 5, l, c);
+		exchange(start + 1, start + 7, l, c);
+		exchange(start + 2, start + 9, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 6, start + 13, l, c);
+		exchange(start + 8, start + 14, l, c);
+		exchange(start + 10, start + 15, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 0, start + 1, l, c);
+		exchange(start + 2, start + 3, l, c);
+		exchange(start + 4, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 11, l, c);
+		exchange(start + 12, start + 13, l, c);
+		exchange(start + 14, start + 15, l, c);
+		exchange(start + 0, start + 2, l, c);
+		exchange(start + 1, start + 3, l, c);
+		exchange(start + 4, start + 10, l, c);
+		exchange(start + 5, start + 11, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+		exchange(start + 12, start + 14, l, c);
+		exchange(start + 13, start + 15, l, c);
+		exchange(start + 1, start + 2, l, c);
+		exchange(start + 3, start + 12, l, c);
+		exchange(start + 4, start + 6, l, c);
+		exchange(start + 5, start + 7, l, c);
+		exchange(start + 8, start + 10, l, c);
+		exchange(start + 9, start + 11, l, c);
+		exchange(start + 13, start + 14, l, c);
+		exchange(start + 1, start + 4, l, c);
+		exchange(start + 2, start + 6, l, c);
+		exchange(start + 5, start + 8, l, c);
+		exchange(start + 7, start + 10, l, c);
+		exchange(start + 9, start + 13, l, c);
+		exchange(start + 11, start + 14, l, c);
+		exchange(start + 2, start + 4, l, c);
+		exchange(start + 3, start + 6, l, c);
+		exchange(start + 9, start + 12, l, c);
+		exchange(start + 11, start + 13, l, c);
+		exchange(start + 3, start + 5, l, c);
+		exchange(start + 6, start + 8, l, c);
+		exchange(start + 7, start + 9, l, c);
+		exchange(start + 10, start + 12, l, c);
+		exchange(start + 3, start + 4, l, c);
+		exchange(start + 5, start + 6, l, c);
+		exchange(start + 7, start + 8, l, c);
+		exchange(start + 9, start + 10, l, c);
+		exchange(start + 11, start + 12, l, c);
+		exchange(start + 6, start + 7, l, c);
+		exchange(start + 8, start + 9, l, c);
+	}
+}